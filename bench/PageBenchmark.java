@@ -0,0 +1,116 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load driver for GET /api/v1/articles/page. Each client sends its next request as soon as the
+ * previous one completes; latencies recorded during the measurement window give throughput and percentiles.
+ *
+ * <pre>java bench/PageBenchmark.java base-url clients warmup-seconds seconds pages label</pre>
+ *
+ * Prints one CSV row: label,clients,requests,errors,throughput,p50_ms,p99_ms,max_ms
+ */
+public class PageBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:9090";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int warmupSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        int pages = args.length > 4 ? Integer.parseInt(args[4]) : 50;
+        String label = args.length > 5 ? args[5] : "run";
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        long measureFrom = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long measureTo = measureFrom + Duration.ofSeconds(seconds).toNanos();
+
+        List<Future<Recorder>> results = new ArrayList<>();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                results.add(workers.submit(() -> run(http, baseUrl, pages, measureFrom, measureTo)));
+            }
+        }
+
+        long[] latencies = new long[0];
+        long errors = 0;
+        for (Future<Recorder> result : results) {
+            Recorder recorder = result.get();
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + recorder.size);
+            System.arraycopy(recorder.latencies, 0, latencies, offset, recorder.size);
+            errors += recorder.errors;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n", label, clients, latencies.length, errors,
+                latencies.length / (double) seconds,
+                millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                millis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]));
+    }
+
+    private static Recorder run(HttpClient http, String baseUrl, int pages, long measureFrom, long measureTo) {
+        Recorder recorder = new Recorder();
+        long now;
+        while ((now = System.nanoTime()) < measureTo) {
+            int page = ThreadLocalRandom.current().nextInt(pages);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/articles/page?page=" + page + "&size=20"))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            boolean ok;
+            try {
+                int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                ok = status == 200 || status == 204;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long end = System.nanoTime();
+            if (now >= measureFrom && end <= measureTo) {
+                if (ok) {
+                    recorder.record(end - now);
+                } else {
+                    recorder.errors++;
+                }
+            }
+        }
+        return recorder;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Recorder {
+        long[] latencies = new long[4096];
+        int size;
+        long errors;
+
+        void record(long nanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Compares /api/v1/articles/page under platform and virtual request threads at several Hikari pool sizes.
+# Needs a PostgreSQL database with the schema applied (SPRING_DATASOURCE_URL, DB_USER, DB_PASSWORD).
+# Set SEED=<n> with AUTHOR_ID=<id of an AUTHOR> to import n articles first; ADMIN_EMAIL/ADMIN_PASSWORD log in.
+#
+#   bench/page-benchmark.sh            # defaults below
+#   POOL_SIZES="5 20" CLIENTS=400 bench/page-benchmark.sh
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-9090}
+POOL_SIZES=${POOL_SIZES:-"5 10 20 40"}
+MODES=${MODES:-"false true"}
+CLIENTS=${CLIENTS:-400}
+WARMUP=${WARMUP:-15}
+DURATION=${DURATION:-30}
+PAGES=${PAGES:-50}
+OUT=${OUT:-target/bench/page-benchmark.csv}
+BASE_URL="http://localhost:$PORT"
+
+mkdir -p "$(dirname "$OUT")"
+./mvnw -B -q -DskipTests package
+JAR=$(ls target/blog-*.jar | grep -v original | head -1)
+
+start_app() {
+  local virtual=$1 pool=$2 log=$3
+  VIRTUAL_THREADS=$virtual DB_POOL_SIZE=$pool RATE_LIMIT_ENABLED=false \
+    java ${JAVA_OPTS:-} -Djdk.tracePinnedThreads=short -jar "$JAR" \
+    --server.port="$PORT" --spring.jpa.show-sql=false > "$log" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 90); do
+    curl -sf "$BASE_URL/actuator/health" > /dev/null && return 0
+    kill -0 "$APP_PID" 2> /dev/null || { tail -20 "$log"; exit 1; }
+    sleep 1
+  done
+  echo "application did not become healthy, see $log" >&2
+  exit 1
+}
+
+seed() {
+  local cookies
+  cookies=$(mktemp)
+  curl -sf -c "$cookies" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"${ADMIN_EMAIL:-anais@blog.com}\",\"password\":\"${ADMIN_PASSWORD:-anais123}\"}" \
+    "$BASE_URL/api/v1/auth/login" > /dev/null
+  for i in $(seq 1 "$SEED"); do
+    echo "{\"title\":\"Benchmark article $i $RANDOM$RANDOM\",\"content\":\"bench $i\",\"authorId\":$AUTHOR_ID}"
+  done | curl -sf -b "$cookies" -H 'Content-Type: application/x-ndjson' --data-binary @- "$BASE_URL/api/v1/articles/import"
+  echo
+  rm -f "$cookies"
+}
+
+echo "threads,pool,clients,requests,errors,throughput,p50_ms,p99_ms,max_ms,pinned_events" > "$OUT"
+for virtual in $MODES; do
+  for pool in $POOL_SIZES; do
+    log="target/bench/app-virtual-$virtual-pool-$pool.log"
+    start_app "$virtual" "$pool" "$log"
+    if [ "${SEED:-0}" -gt 0 ]; then
+      seed
+      SEED=0
+    fi
+    label=$([ "$virtual" = true ] && echo virtual || echo platform)
+    row=$(java bench/PageBenchmark.java "$BASE_URL" "$CLIENTS" "$WARMUP" "$DURATION" "$PAGES" "$label,$pool")
+    kill "$APP_PID"; wait "$APP_PID" 2> /dev/null || true
+    # -Djdk.tracePinnedThreads prints a stack each time a virtual thread blocks while pinned
+    pinned=$(grep -c "onPinned\|<== monitors" "$log" || true)
+    echo "$row,$pinned" | tee -a "$OUT"
+  done
+done
+echo "results written to $OUT"
@@ -0,0 +1,59 @@
+package com.blog.config;
+
+import com.blog.model.User;
+import com.blog.model.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. {@code verifyUncached} is the signature check paid by the first
+ * request with a token, {@code verifyCached} every later one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark0secret0benchmark0secret0benchmark0secret0benchmark0sec";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(properties(), new SimpleMeterRegistry());
+        user = new User();
+        user.setId(42L);
+        user.setEmail("bench@blog.com");
+        user.setRole(Role.AUTHOR);
+        token = jwtService.generateToken(user);
+        jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return jwtService.parse(token);
+    }
+
+    private static JwtProperties properties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        return properties;
+    }
+}
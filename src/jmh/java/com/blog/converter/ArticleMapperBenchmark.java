@@ -0,0 +1,50 @@
+package com.blog.converter;
+
+import com.blog.dto.ArticleSaveDTO;
+import com.blog.model.Article;
+import com.blog.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class ArticleMapperBenchmark {
+
+    private final ArticleMapper articleMapper = new ArticleMapperImpl();
+    private Article article;
+    private ArticleSaveDTO update;
+
+    @Setup
+    public void setUp() {
+        User author = new User();
+        author.setId(7L);
+        author.setFirstName("Anais");
+        author.setLastName("Martin");
+
+        article = new Article();
+        article.setId(1L);
+        article.setTitle("Benchmarking the mapper");
+        article.setContent("content");
+        article.setAuthor(author);
+        article.setViews(12L);
+
+        update = new ArticleSaveDTO();
+        update.setTitle("Benchmarking the mapper again");
+        update.setContent("updated");
+    }
+
+    @Benchmark
+    public ArticleSaveDTO toDTO() {
+        return articleMapper.toDTO(article);
+    }
+
+    @Benchmark
+    public Article updateArticleFromDTO() {
+        articleMapper.updateArticleFromDTO(article, update);
+        return article;
+    }
+}
@@ -0,0 +1,40 @@
+package com.blog.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an error response: building the exception (including its stack trace), the handler,
+ * and writing the body as JSON the way the message converter does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class BlogExceptionHandlerBenchmark {
+
+    private final BlogExceptionHandler handler = new BlogExceptionHandler();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/articles/42");
+    private final BlogException exception = new ArticleNotFoundException(42L);
+
+    @Benchmark
+    public ResponseEntity<ApiError> handle() {
+        return handler.handleBlogException(exception, request);
+    }
+
+    @Benchmark
+    public byte[] throwHandleAndRender() throws Exception {
+        ResponseEntity<ApiError> response = handler.handleBlogException(new ArticleNotFoundException(42L), request);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+}
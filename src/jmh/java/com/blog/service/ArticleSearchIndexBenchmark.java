@@ -0,0 +1,108 @@
+package com.blog.service;
+
+import com.blog.config.SearchProperties;
+import com.blog.converter.ArticleMapperImpl;
+import com.blog.dto.ArticleSaveDTO;
+import com.blog.model.Article;
+import com.blog.model.User;
+import com.blog.repository.ArticleRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Term queries against the in-memory article index. Author and user search moved to database queries,
+ * so this index is the remaining in-memory filter on a request path. Each article gets two of 500
+ * vocabulary words and one of 100 authors, so a single term matches about 0.4% of the articles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ArticleSearchIndexBenchmark {
+
+    private static final int VOCABULARY = 500;
+    private static final int AUTHORS = 100;
+
+    @Param({"10000", "100000", "1000000"})
+    private int articles;
+
+    private ArticleSearchIndex index;
+    private final Pageable firstPage = PageRequest.of(0, 20);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SearchProperties properties = new SearchProperties();
+        properties.setEngine(SearchProperties.Engine.MEMORY);
+        index = new ArticleSearchIndex(repository(articles), new ArticleMapperImpl(), properties, new StandardEnvironment());
+        index.build();
+        if (!index.isReady()) {
+            throw new IllegalStateException("index build failed");
+        }
+    }
+
+    @Benchmark
+    public Optional<Page<ArticleSaveDTO>> singleTerm() {
+        return index.search("w42", firstPage);
+    }
+
+    @Benchmark
+    public Optional<Page<ArticleSaveDTO>> twoTermsAnd() {
+        return index.search("w42 author7", firstPage);
+    }
+
+    @Benchmark
+    public Optional<Page<ArticleSaveDTO>> twoClausesOr() {
+        return index.search("w42 OR w99", firstPage);
+    }
+
+    @Benchmark
+    public Optional<Page<ArticleSaveDTO>> noMatch() {
+        return index.search("nothing", firstPage);
+    }
+
+    /**
+     * Only the two queries the index build issues are answered.
+     */
+    private static ArticleRepository repository(long count) {
+        List<User> authors = new ArrayList<>();
+        for (int a = 0; a < AUTHORS; a++) {
+            User author = new User();
+            author.setId((long) a + 1);
+            author.setFirstName("Author" + a);
+            author.setLastName("Writer");
+            authors.add(author);
+        }
+        return (ArticleRepository) Proxy.newProxyInstance(ArticleRepository.class.getClassLoader(),
+                new Class<?>[]{ArticleRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findMaxId" -> count;
+                    case "findIndexChunk" -> chunk((Long) args[0], (Long) args[1], (Limit) args[2], authors);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static List<Article> chunk(long afterId, long maxId, Limit limit, List<User> authors) {
+        List<Article> chunk = new ArrayList<>();
+        for (long id = afterId + 1; id <= maxId && chunk.size() < limit.max(); id++) {
+            Article article = new Article();
+            article.setId(id);
+            article.setTitle("Article " + id + " w" + id % VOCABULARY);
+            article.setContent("w" + (id * 31) % VOCABULARY);
+            article.setAuthor(authors.get((int) (id % AUTHORS)));
+            chunk.add(article);
+        }
+        return chunk;
+    }
+}
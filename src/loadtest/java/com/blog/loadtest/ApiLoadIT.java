@@ -0,0 +1,252 @@
+package com.blog.loadtest;
+
+import com.blog.model.Article;
+import com.blog.model.User;
+import com.blog.model.enums.Domain;
+import com.blog.model.enums.Role;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.blog.loadtest.Scenario.Audience.ANONYMOUS;
+import static com.blog.loadtest.Scenario.Audience.ANYONE;
+import static com.blog.loadtest.Scenario.Audience.AUTHENTICATED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a weighted mix of anonymous and authenticated traffic across the article, author, user and
+ * auth controllers and fails when a scenario exceeds its error-rate threshold or its p99 regresses past
+ * the baseline run. Run with {@code mvn -Ploadtest verify}; any {@code loadtest.*} property can be
+ * overridden with -D.
+ * Clients are closed-loop, so latencies show the service time under this concurrency, not the
+ * queueing an open arrival rate would add.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class ApiLoadIT {
+
+    private static final String ADMIN_EMAIL = "anais@blog.com";
+    private static final String ADMIN_PASSWORD = "anais123";
+    private static final String AUTHOR_PASSWORD = "loadtest1";
+
+    @TestConfiguration
+    @EnableConfigurationProperties(LoadTestProperties.class)
+    static class Config {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LoadTestProperties properties;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void trafficMixStaysWithinBaseline() throws Exception {
+        LoadTestProperties.Baseline baseline = properties.getBaseline();
+        assertTrue(baseline.isUpdate() || Files.exists(baseline.getFile()), "No latency baseline at "
+                + baseline.getFile().toAbsolutePath() + ", record one on the host class that runs this check with "
+                + "-Dloadtest.baseline.update=true and commit it");
+        TrafficContext context = seed();
+        List<Scenario> scenarios = scenarios();
+        LatencyReport report = new LatencyReport(scenarios);
+
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < properties.getClients(); i++) {
+            // every other client holds an admin session of its own, so refresh rotation never races
+            clients.add(i % 2 == 0 ? Client.anonymous() : Client.authenticated(context));
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + properties.getWarmup().toNanos();
+        long measureTo = measureFrom + properties.getDuration().toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Client client : clients) {
+                List<Scenario> mix = scenarios.stream()
+                        .filter(scenario -> scenario.runsFor(client.authenticated()))
+                        .toList();
+                workers.submit(() -> client.run(context, mix, report, measureTo));
+            }
+            Thread.sleep(Duration.ofNanos(measureFrom - System.nanoTime()));
+            report.startMeasuring();
+            Thread.sleep(Duration.ofNanos(Math.max(0, measureTo - System.nanoTime())));
+            report.stopMeasuring();
+        }
+
+        Path output = Path.of("target", "loadtest");
+        report.write(output, properties.getDuration(), System.out);
+        List<String> violations = report.violations(properties.getThresholds(), baselineP99(output.resolve("summary.csv")));
+        assertTrue(violations.isEmpty(), "Load test thresholds exceeded:\n" + String.join("\n", violations));
+    }
+
+    // absolute latencies measure the host, so p99 is only compared with a run recorded on the same kind of host
+    private Map<String, Double> baselineP99(Path summary) throws IOException {
+        LoadTestProperties.Baseline baseline = properties.getBaseline();
+        Path file = baseline.getFile();
+        if (!baseline.isUpdate()) {
+            return LatencyReport.readP99(file);
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.copy(summary, file, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Recorded latency baseline " + file.toAbsolutePath() + ", commit it so later runs compare against it");
+        return Map.of();
+    }
+
+    private List<Scenario> scenarios() {
+        int articles = properties.getSeed().getArticles();
+        int authors = properties.getSeed().getAuthors();
+        int users = properties.getSeed().getUsers();
+        return List.of(
+                new Scenario("articles-page", 20, ANYONE, c -> c.get("/api/v1/articles/page?size=20&page=" + c.anyPage(20, articles)).build()),
+                new Scenario("articles-feed", 10, ANYONE, c -> c.get("/api/v1/articles/feed?size=20").build()),
+                new Scenario("articles-search", 8, ANYONE, c -> c.get("/api/v1/articles/page-search?size=20&criteria=" + c.anyTerm()).build()),
+                new Scenario("articles-trending", 4, ANYONE, c -> c.get("/api/v1/articles/trending").build()),
+                new Scenario("authors-page", 8, ANYONE, c -> c.get("/api/v1/authors/page?size=20&page=" + c.anyPage(20, authors)).build()),
+                new Scenario("authors-search", 4, ANYONE, c -> c.get("/api/v1/authors/page-search?size=20&criteria=" + c.anyTerm()).build()),
+                new Scenario("login", 2, ANONYMOUS, c -> c.postJson("/api/v1/auth/login",
+                        "{\"email\":\"author" + c.anyAuthorIndex() + "@load.test\",\"password\":\"" + c.authorPassword() + "\"}").build()),
+                new Scenario("article-by-id", 15, AUTHENTICATED, c -> c.get("/api/v1/articles/" + c.anyArticle()).build()),
+                new Scenario("author-by-id", 6, AUTHENTICATED, c -> c.get("/api/v1/authors/" + c.anyAuthor()).build()),
+                new Scenario("users-search", 4, AUTHENTICATED, c -> c.get("/api/v1/users/page-search?size=20&criteria=load&page=" + c.anyPage(20, users)).build()),
+                new Scenario("me", 8, AUTHENTICATED, c -> c.get("/api/v1/auth/me").build()),
+                new Scenario("update-article", 3, AUTHENTICATED, c -> c.putJson("/api/v1/articles/" + c.anyArticle(),
+                        "{\"content\":\"upd " + ThreadLocalRandom.current().nextInt(100_000) + "\"}").build()),
+                new Scenario("refresh", 2, AUTHENTICATED, c -> c.postJson("/api/v1/auth/refresh", "").build())
+        );
+    }
+
+    private TrafficContext seed() {
+        LoadTestProperties.Seed seed = properties.getSeed();
+        String authorHash = passwordEncoder.encode(AUTHOR_PASSWORD);
+        Domain[] domains = Domain.values();
+
+        List<User> authors = new ArrayList<>();
+        for (int i = 0; i < seed.getAuthors(); i++) {
+            authors.add(User.builder()
+                    .firstName("Load" + i)
+                    .lastName("Writer")
+                    .email("author" + i + "@load.test")
+                    .password(authorHash)
+                    .biography("writes load test articles")
+                    .domain(domains[i % domains.length])
+                    .role(Role.AUTHOR)
+                    .isActive(true)
+                    .build());
+        }
+        authors = userRepository.saveAll(authors);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < seed.getUsers(); i++) {
+            users.add(User.builder()
+                    .firstName("Load" + i)
+                    .lastName("Reader")
+                    .email("user" + i + "@load.test")
+                    .password(authorHash)
+                    .role(i % 10 == 0 ? Role.ADMIN : Role.VISITOR)
+                    .isActive(true)
+                    .build());
+        }
+        userRepository.saveAll(users);
+
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < seed.getArticles(); i++) {
+            Article article = new Article();
+            article.setTitle("Load article " + i + " w" + i % 500);
+            article.setContent("body " + i % 10_000);
+            article.setAuthor(authors.get(i % authors.size()));
+            articles.add(article);
+        }
+        articleRepository.insertAll(articles);
+        assertEquals(seed.getArticles(), articleRepository.count());
+
+        return new TrafficContext(URI.create("http://localhost:" + port),
+                articles.stream().mapToLong(Article::getId).toArray(),
+                authors.stream().mapToLong(User::getId).toArray(),
+                AUTHOR_PASSWORD);
+    }
+
+    private record Client(HttpClient http, boolean authenticated) {
+
+        static Client anonymous() {
+            return new Client(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build(), false);
+        }
+
+        static Client authenticated(TrafficContext context) throws Exception {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .cookieHandler(new CookieManager())
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            HttpResponse<Void> login = http.send(context.postJson("/api/v1/auth/login",
+                    "{\"email\":\"" + ADMIN_EMAIL + "\",\"password\":\"" + ADMIN_PASSWORD + "\"}").build(),
+                    HttpResponse.BodyHandlers.discarding());
+            assertEquals(200, login.statusCode(), "admin login failed");
+            return new Client(http, true);
+        }
+
+        void run(TrafficContext context, List<Scenario> mix, LatencyReport report, long until) {
+            int totalWeight = mix.stream().mapToInt(Scenario::weight).sum();
+            while (System.nanoTime() < until) {
+                Scenario scenario = pick(mix, totalWeight);
+                HttpRequest request = scenario.request().apply(context);
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (Exception e) {
+                    status = -1;
+                }
+                report.record(scenario.name(), System.nanoTime() - start, status);
+            }
+        }
+
+        private static Scenario pick(List<Scenario> mix, int totalWeight) {
+            int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (Scenario scenario : mix) {
+                ticket -= scenario.weight();
+                if (ticket < 0) {
+                    return scenario;
+                }
+            }
+            throw new IllegalStateException("empty traffic mix");
+        }
+    }
+}
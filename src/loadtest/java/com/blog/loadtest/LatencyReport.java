@@ -0,0 +1,164 @@
+package com.blog.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Per-scenario HDR latency histograms and error counts, the summary written after a run and the
+ * check against a baseline summary that fails it.
+ */
+class LatencyReport {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    // scenario -> failing status (-1 when no response arrived) -> count
+    private final Map<String, Map<Integer, LongAdder>> errors = new LinkedHashMap<>();
+    private final Map<String, Histogram> results = new LinkedHashMap<>();
+    private final Map<String, Map<Integer, Long>> errorResults = new LinkedHashMap<>();
+    private volatile boolean measuring;
+
+    LatencyReport(List<Scenario> scenarios) {
+        for (Scenario scenario : scenarios) {
+            recorders.put(scenario.name(), new Recorder(MAX_TRACKABLE_NANOS, 3));
+            errors.put(scenario.name(), new ConcurrentHashMap<>());
+        }
+    }
+
+    void record(String scenario, long nanos, int status) {
+        if (!measuring) {
+            return;
+        }
+        if (Scenario.succeeded(status)) {
+            recorders.get(scenario).recordValue(Math.min(nanos, MAX_TRACKABLE_NANOS));
+        } else {
+            errors.get(scenario).computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    void startMeasuring() {
+        measuring = true;
+    }
+
+    void stopMeasuring() {
+        measuring = false;
+        recorders.forEach((name, recorder) -> results.put(name, recorder.getIntervalHistogram()));
+        errors.forEach((name, byStatus) -> errorResults.put(name, byStatus.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum(), Long::sum, TreeMap::new))));
+    }
+
+    /**
+     * Writes summary.csv and one .hgrm percentile distribution per scenario (plottable with HdrHistogram's
+     * plotter) under {@code directory}, and prints the summary.
+     */
+    void write(Path directory, Duration measured, PrintStream out) throws IOException {
+        Files.createDirectories(directory);
+        List<String> csv = new ArrayList<>();
+        csv.add("scenario,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms");
+        out.printf("%-20s %9s %7s %10s %9s %9s %9s %9s%n", "scenario", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        Histogram total = new Histogram(MAX_TRACKABLE_NANOS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Histogram> entry : results.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long failed = failed(entry.getKey());
+            total.add(histogram);
+            totalErrors += failed;
+            String row = row(entry.getKey(), histogram, failed, measured);
+            csv.add(row);
+            out.println(pretty(entry.getKey(), histogram, failed, measured));
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(hgrm, 1_000_000.0);
+            }
+        }
+        csv.add(row("all", total, totalErrors, measured));
+        out.println(pretty("all", total, totalErrors, measured));
+        Files.write(directory.resolve("summary.csv"), csv);
+    }
+
+    /**
+     * @param baselineP99 p99 in milliseconds per scenario from the baseline; scenarios it lacks, or with
+     *                    too few requests in this run, only have their error rate checked
+     */
+    List<String> violations(LoadTestProperties.Thresholds thresholds, Map<String, Double> baselineP99) {
+        List<String> violations = new ArrayList<>();
+        results.forEach((name, histogram) -> {
+            long failed = failed(name);
+            long requests = histogram.getTotalCount() + failed;
+            if (requests == 0) {
+                violations.add(name + ": no requests completed");
+                return;
+            }
+            double errorRate = failed / (double) requests;
+            if (errorRate > thresholds.getMaxErrorRate()) {
+                violations.add(String.format(Locale.ROOT, "%s: error rate %.4f above %.4f, failures by status %s",
+                        name, errorRate, thresholds.getMaxErrorRate(), errorResults.get(name)));
+            }
+            Double baseline = baselineP99.get(name);
+            if (baseline == null || histogram.getTotalCount() < thresholds.getP99MinRequests()) {
+                return;
+            }
+            Duration budget = thresholds.p99Budget(baseline);
+            long p99 = histogram.getValueAtPercentile(99);
+            if (p99 > budget.toNanos()) {
+                violations.add(String.format(Locale.ROOT, "%s: p99 %.1f ms above %.1f ms (baseline %.1f ms)",
+                        name, p99 / 1e6, budget.toNanos() / 1e6, baseline));
+            }
+        });
+        return violations;
+    }
+
+    /**
+     * Reads the p99 column of a summary.csv written by {@link #write}.
+     */
+    static Map<String, Double> readP99(Path summary) throws IOException {
+        List<String> lines = Files.readAllLines(summary);
+        int column = List.of(lines.get(0).split(",")).indexOf("p99_ms");
+        if (column < 0) {
+            throw new IllegalStateException(summary + " has no p99_ms column");
+        }
+        Map<String, Double> p99 = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] cells = line.split(",");
+            p99.put(cells[0], Double.parseDouble(cells[column]));
+        }
+        return p99;
+    }
+
+    private long failed(String scenario) {
+        return errorResults.get(scenario).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static String row(String name, Histogram histogram, long failed, Duration measured) {
+        return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f", values(name, histogram, failed, measured));
+    }
+
+    private static String pretty(String name, Histogram histogram, long failed, Duration measured) {
+        return String.format(Locale.ROOT, "%-20s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f", values(name, histogram, failed, measured));
+    }
+
+    private static Object[] values(String name, Histogram histogram, long failed, Duration measured) {
+        return new Object[]{name, histogram.getTotalCount(), failed,
+                histogram.getTotalCount() / (measured.toMillis() / 1000.0),
+                ms(histogram, 50), ms(histogram, 95), ms(histogram, 99), histogram.getMaxValue() / 1e6};
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
@@ -0,0 +1,76 @@
+package com.blog.loadtest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    private Seed seed = new Seed();
+
+    /**
+     * Concurrent closed-loop clients; each sends its next request when the previous one completes.
+     */
+    private int clients = 64;
+
+    private Duration warmup = Duration.ofSeconds(10);
+
+    private Duration duration = Duration.ofSeconds(30);
+
+    private Baseline baseline = new Baseline();
+
+    private Thresholds thresholds = new Thresholds();
+
+    @Getter
+    @Setter
+    public static class Seed {
+        private int authors = 200;
+        private int articles = 20_000;
+        private int users = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Baseline {
+
+        /**
+         * summary.csv of an earlier run on the same kind of host. The run fails when it is missing.
+         */
+        private Path file = Path.of("src/loadtest/baseline.csv");
+
+        /**
+         * Record this run as the baseline instead of comparing against it; the only time the file is written.
+         */
+        private boolean update;
+    }
+
+    @Getter
+    @Setter
+    public static class Thresholds {
+
+        private double maxErrorRate = 0.01;
+
+        /**
+         * A scenario fails when its p99 exceeds the baseline p99 by more than this fraction plus the slack,
+         * which keeps millisecond scenarios from failing on jitter.
+         */
+        private double p99Tolerance = 0.5;
+
+        private Duration p99Slack = Duration.ofMillis(5);
+
+        /**
+         * Scenarios with fewer successful requests in this run are not compared, their p99 being noise.
+         */
+        private long p99MinRequests = 200;
+
+        public Duration p99Budget(double baselineMillis) {
+            return Duration.ofNanos(Math.round(baselineMillis * (1 + p99Tolerance) * 1e6)).plus(p99Slack);
+        }
+    }
+}
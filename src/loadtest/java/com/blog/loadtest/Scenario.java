@@ -0,0 +1,25 @@
+package com.blog.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Function;
+
+/**
+ * One kind of request in the traffic mix. Clients pick scenarios at random in proportion to their weight.
+ */
+record Scenario(String name, int weight, Audience audience, Function<TrafficContext, HttpRequest> request) {
+
+    enum Audience {
+        ANYONE,
+        ANONYMOUS,
+        // sent with the client's admin session
+        AUTHENTICATED
+    }
+
+    boolean runsFor(boolean authenticatedClient) {
+        return audience == Audience.ANYONE || (audience == Audience.AUTHENTICATED) == authenticatedClient;
+    }
+
+    static boolean succeeded(int status) {
+        return (status >= 200 && status < 300) || status == 304;
+    }
+}
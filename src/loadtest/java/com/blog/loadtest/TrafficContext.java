@@ -0,0 +1,49 @@
+package com.blog.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * What a scenario needs to build its next request: the server and the ids of the seeded data.
+ */
+record TrafficContext(URI baseUri, long[] articleIds, long[] authorIds, String authorPassword) {
+
+    private static final String[] TERMS = {"w7", "w42", "w123", "w256", "load", "writer"};
+
+    HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET();
+    }
+
+    HttpRequest.Builder postJson(String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    HttpRequest.Builder putJson(String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    long anyArticle() {
+        return articleIds[ThreadLocalRandom.current().nextInt(articleIds.length)];
+    }
+
+    long anyAuthor() {
+        return authorIds[ThreadLocalRandom.current().nextInt(authorIds.length)];
+    }
+
+    int anyAuthorIndex() {
+        return ThreadLocalRandom.current().nextInt(authorIds.length);
+    }
+
+    int anyPage(int pageSize, int total) {
+        return ThreadLocalRandom.current().nextInt(Math.max(1, total / pageSize));
+    }
+
+    String anyTerm() {
+        return TERMS[ThreadLocalRandom.current().nextInt(TERMS.length)];
+    }
+}
@@ -0,0 +1,163 @@
+package com.blog.config;
+
+import com.blog.exception.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client request limits, keyed by route and by the client a subclass picks for the request. Each
+ * client gets a GCRA bucket: a single atomic "theoretical arrival time" updated with compare-and-set,
+ * so concurrent requests never block each other.
+ */
+@Slf4j
+public abstract class AbstractRateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Bucket> buckets;
+    private final Bucket.Policy defaultPolicy;
+    private final List<Bucket.Policy> routePolicies;
+
+    protected AbstractRateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.defaultPolicy = new Bucket.Policy("default", null, null, properties.getDefaultLimit());
+        this.routePolicies = properties.getRoutes().stream()
+                .map(route -> new Bucket.Policy(route.getMethod() + " " + route.getPattern(),
+                        route.getPattern(), route.getMethod(), route))
+                .toList();
+    }
+
+    /**
+     * @return the bucket owner, or null to let the request through unmetered
+     */
+    protected abstract String clientOf(HttpServletRequest request);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String client = clientOf(request);
+        if (client == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Bucket.Policy policy = policyFor(request);
+        Bucket bucket = buckets.get(policy.name() + "|" + client, key -> new Bucket());
+        long now = System.nanoTime();
+        long wait = bucket.tryAcquire(policy, now);
+
+        response.setHeader("RateLimit-Limit", String.valueOf(policy.requests()));
+        if (wait > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L));
+            log.warn("Rate limit exceeded for {} on {}", client, policy.name());
+            response.setHeader("RateLimit-Remaining", "0");
+            response.setHeader("RateLimit-Reset", String.valueOf(retryAfterSeconds));
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            reject(request, response);
+            return;
+        }
+        response.setHeader("RateLimit-Remaining", String.valueOf(bucket.remaining(policy, now)));
+        response.setHeader("RateLimit-Reset", String.valueOf(bucket.secondsUntilFull(now)));
+        filterChain.doFilter(request, response);
+    }
+
+    private Bucket.Policy policyFor(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (Bucket.Policy policy : routePolicies) {
+            if ((policy.method() == null || policy.method().equalsIgnoreCase(request.getMethod()))
+                    && PATH_MATCHER.match(policy.pattern(), path)) {
+                return policy;
+            }
+        }
+        return defaultPolicy;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        ApiError error = new ApiError(
+                Instant.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                "Too many requests, please retry later",
+                request.getRequestURI()
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Generic cell rate algorithm. A request is admitted when pushing the theoretical arrival time
+     * forward by one emission interval keeps it within one period of now, which allows bursts of
+     * up to the full limit and then a steady rate of requests per period.
+     */
+    static final class Bucket {
+
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        record Policy(String name, String pattern, String method, int requests, long emissionInterval, long tolerance) {
+
+            Policy(String name, String pattern, String method, RateLimitProperties.Limit limit) {
+                this(name, pattern, method == null ? null : method.toUpperCase(), limit.getRequests(),
+                        limit.getPeriod().toNanos() / limit.getRequests(), limit.getPeriod().toNanos());
+            }
+        }
+
+        /**
+         * @return 0 when admitted, otherwise the nanoseconds to wait before retrying
+         */
+        long tryAcquire(Policy policy, long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                long next = base + policy.emissionInterval();
+                long ahead = next - now;
+                if (ahead > policy.tolerance()) {
+                    return ahead - policy.tolerance();
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        long remaining(Policy policy, long now) {
+            long ahead = Math.max(0, theoreticalArrival.get() - now);
+            return Math.max(0, (policy.tolerance() - ahead) / policy.emissionInterval());
+        }
+
+        long secondsUntilFull(long now) {
+            long ahead = Math.max(0, theoreticalArrival.get() - now);
+            return TimeUnit.NANOSECONDS.toSeconds(ahead + 999_999_999L);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "blog.export")
+public class ArticleExportProperties {
+
+    private int fetchSize = 500;
+}
@@ -0,0 +1,16 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "blog.import")
+public class ArticleImportProperties {
+
+    /**
+     * Rows validated and inserted per transaction.
+     */
+    private int batchSize = 1000;
+}
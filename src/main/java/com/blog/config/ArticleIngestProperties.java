@@ -0,0 +1,46 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "blog.ingest")
+public class ArticleIngestProperties {
+
+    /**
+     * Acknowledge POST /api/v1/articles with 202 and write the article in the background.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Articles waiting to be written before new submissions are refused with 503.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Articles validated and inserted per transaction by the writer.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long shutdown keeps writing queued articles before spooling the rest.
+     */
+    private Duration shutdownDrainTimeout = Duration.ofSeconds(10);
+
+    /**
+     * File holding articles still queued at shutdown; they are replayed on the next start.
+     */
+    private Path spoolFile = Path.of("article-ingest.spool");
+
+    /**
+     * How long the outcome of a submission can be looked up.
+     */
+    private Duration statusRetention = Duration.ofHours(1);
+
+    private long maxTrackedStatuses = 100_000;
+}
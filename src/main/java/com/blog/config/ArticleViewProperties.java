@@ -0,0 +1,20 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "blog.views")
+public class ArticleViewProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How often counted views are written to the database; also the most a crash can lose.
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+}
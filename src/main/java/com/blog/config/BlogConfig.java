@@ -0,0 +1,13 @@
+package com.blog.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({SearchProperties.class, ArticleExportProperties.class, ArticleImportProperties.class,
+        UserDetailsCacheProperties.class, RateLimitProperties.class, ArticleIngestProperties.class,
+        ArticleViewProperties.class, TrendingProperties.class, SqlMonitorProperties.class})
+public class BlogConfig {
+}
@@ -1,5 +1,8 @@
 package com.blog.config;
 
+import com.blog.model.enums.Role;
+import com.blog.record.JwtPrincipal;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -28,6 +31,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final JwtProperties jwtProperties;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -57,11 +62,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     private void authenticate(HttpServletRequest request, String token){
-        String username = jwtService.extractUsername(token);
+        Claims claims = jwtService.verify(token);
+        String username = claims.getSubject();
         log.info("Authenticating user {}", username);
+        if (tokenRevocationService.isRevoked(claims)) {
+            log.warn("Rejecting revoked token for user {}", username);
+            return;
+        }
+        if (jwtProperties.isStateless() && claims.get(JwtService.USER_ID_CLAIM) != null) {
+            authenticateFromClaims(request, claims);
+            return;
+        }
         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-        if(jwtService.isTokenValid(token, userDetails)){
+        if(jwtService.isTokenValid(claims, userDetails)){
             log.info("User {} successfully authenticated", username);
             UsernamePasswordAuthenticationToken  authentication = new
                     UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -71,6 +85,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    private void authenticateFromClaims(HttpServletRequest request, Claims claims){
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.get(JwtService.USER_ID_CLAIM, Long.class),
+                claims.getSubject(),
+                Role.valueOf(claims.get(JwtService.ROLE_CLAIM, String.class)));
+        Integer version = claims.get(JwtService.VERSION_CLAIM, Integer.class);
+        if (version == null || !tokenVersionRegistry.isCurrent(principal.id(), version)) {
+            log.warn("Rejecting outdated token for user {}", principal.email());
+            return;
+        }
+        log.info("User {} authenticated from token claims", principal.email());
+        UsernamePasswordAuthenticationToken authentication = new
+                UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
 
 
 }
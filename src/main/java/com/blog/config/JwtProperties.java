@@ -4,6 +4,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "security.jwt")
@@ -21,4 +23,32 @@ public class JwtProperties {
 
     private String cookiePath = "/";
 
+    private long refreshExpirationDays = 14;
+
+    private String refreshCookieName = "REFRESH_TOKEN";
+
+    // only sent to the auth endpoints that read it
+    private String refreshCookiePath = "/api/v1/auth";
+
+    /**
+     * Recently verified tokens kept so repeat requests skip the signature check.
+     */
+    private long verifiedCacheSize = 10_000;
+
+    /**
+     * Build the principal from the token claims instead of loading the user on every request.
+     */
+    private boolean stateless = false;
+
+    /**
+     * Token versions kept per node in stateless mode.
+     */
+    private long versionCacheSize = 100_000;
+
+    /**
+     * How long a cached token version is trusted; also how long a revocation made on another
+     * instance can take to be seen here.
+     */
+    private Duration versionCacheTtl = Duration.ofMinutes(1);
+
 }
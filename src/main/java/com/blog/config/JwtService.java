@@ -1,32 +1,81 @@
 package com.blog.config;
 
+import com.blog.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
     private final JwtProperties jwtProperties;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    // SHA-256 of the token -> claims already verified against the signing key
+    private final Cache<String, Claims> verifiedTokens;
+    private final Timer cachedVerifyTimer;
+    private final Timer parsedVerifyTimer;
+    private final Timer rejectedVerifyTimer;
+
+    public JwtService(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.jwtProperties = jwtProperties;
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getVerifiedCacheSize())
+                .expireAfterWrite(jwtProperties.getExpirationMinutes(), TimeUnit.MINUTES)
+                .build();
+        this.cachedVerifyTimer = verifyTimer("cached", meterRegistry);
+        this.parsedVerifyTimer = verifyTimer("parsed", meterRegistry);
+        this.rejectedVerifyTimer = verifyTimer("rejected", meterRegistry);
+    }
+
+    private static Timer verifyTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("blog.jwt.verify")
+                .description("Time spent verifying an access token, including the cache lookup")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String VERSION_CLAIM = "ver";
 
     public  String generateToken(UserDetails userDetails){
-        Map<String, Object> claims =  Map.of(
-                "roles", userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority)
-                        .toList()
-        );
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("roles", userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority)
+                .toList());
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(ROLE_CLAIM, user.getRole().name());
+            claims.put(VERSION_CLAIM, user.getTokenVersion());
+        }
         return generateToken(claims, userDetails);
     }
 
@@ -36,17 +85,47 @@ public class JwtService {
 
          return Jwts.builder()
                  .setClaims(claims)
+                 .setId(UUID.randomUUID().toString())
                  .setSubject(userDetails.getUsername())
                  .setIssuedAt(Date.from(now))
                  .setExpiration(Date.from(expiration))
-                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                 .signWith(signingKey, SignatureAlgorithm.HS256)
                  .compact();
 
     }
 
-    private SecretKey getSigningKey(){
-        byte [] keyBytes = jwtProperties.getSecret().getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Verifies the signature and expiry of the token once and returns its claims. Tokens seen recently
+     * are served from a bounded cache keyed by their hash, with the expiry re-checked on every hit.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public Claims verify(String token) {
+        long start = System.nanoTime();
+        Timer timer = rejectedVerifyTimer;
+        try {
+            String key = hash(token);
+            Claims cached = verifiedTokens.getIfPresent(key);
+            if (cached != null) {
+                if (isExpired(cached)) {
+                    verifiedTokens.invalidate(key);
+                    throw new ExpiredJwtException(null, cached, "JWT expired at " + cached.getExpiration());
+                }
+                timer = cachedVerifyTimer;
+                return cached;
+            }
+            Claims claims = parse(token);
+            verifiedTokens.put(key, claims);
+            timer = parsedVerifyTimer;
+            return claims;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // the full signature check, without the cache
+    Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String extractUsername(String token) {
@@ -58,26 +137,27 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails){
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails){
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
     }
 
-
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
+    }
 
     public <T> T extract(String token, Function<Claims,T> claimsTResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsTResolver.apply(claims);
+        return claimsTResolver.apply(verify(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,21 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.metrics-scrape")
+public class MetricsScrapeProperties {
+
+    /**
+     * Basic auth user allowed to read /actuator/prometheus, next to SUPERADMIN sessions.
+     */
+    private String username = "prometheus";
+
+    /**
+     * Stored form with its encoder id, e.g. {bcrypt}$2a$10$... or {noop}secret. Blank disables the user.
+     */
+    private String password = "";
+}
@@ -0,0 +1,23 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.password")
+public class PasswordHashingProperties {
+
+    /**
+     * BCrypt cost. Stored hashes with a different cost are rehashed on the next successful login.
+     */
+    private int strength = 10;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Hashing requests allowed to wait for a thread before new ones are rejected with 503.
+     */
+    private int queueCapacity = 64;
+}
@@ -0,0 +1,30 @@
+package com.blog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits authenticated requests per user on top of the address limit, wherever the user connects from.
+ * Runs after authentication so the bucket follows the verified principal, never a claim the client sent.
+ */
+@Component
+public class PrincipalRateLimitFilter extends AbstractRateLimitFilter {
+
+    public PrincipalRateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        super(properties, objectMapper);
+    }
+
+    @Override
+    protected String clientOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.blog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits every API request by remote address. Runs ahead of authentication, so throttled requests never
+ * cost a token verification or a user lookup; nothing the client sends can pick another bucket.
+ */
+@Component
+public class RateLimitFilter extends AbstractRateLimitFilter {
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        super(properties, objectMapper);
+    }
+
+    @Override
+    protected String clientOf(HttpServletRequest request) {
+        // honours X-Forwarded-For only when server.forward-headers-strategy is configured
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,59 @@
+package com.blog.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "blog.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on tracked clients; the least recently used ones are dropped first.
+     */
+    private long maxClients = 100_000;
+
+    /**
+     * Buckets idle for this long are forgotten, which is the same as refilling them.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    @Valid
+    private Limit defaultLimit = new Limit();
+
+    /**
+     * Checked in order; the first route matching the path and method applies instead of the default.
+     */
+    private List<@Valid Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        @Min(value = 1, message = "A rate limit has to allow at least one request per period")
+        private int requests = 300;
+
+        private Duration period = Duration.ofMinutes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Route extends Limit {
+
+        private String pattern;
+
+        // any method when not set
+        private String method;
+    }
+}
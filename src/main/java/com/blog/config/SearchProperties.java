@@ -0,0 +1,21 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "blog.search")
+public class SearchProperties {
+
+    private Engine engine = Engine.LIKE;
+
+    private int indexBuildThreads = 4;
+
+    public enum Engine {
+        LIKE,
+        FULLTEXT,
+        MEMORY
+    }
+}
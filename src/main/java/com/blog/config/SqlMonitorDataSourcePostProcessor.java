@@ -0,0 +1,59 @@
+package com.blog.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the pool in a datasource-proxy that reports every statement to the {@link SqlRequestStats}
+ * bound to the calling thread, if any.
+ */
+@Component
+public class SqlMonitorDataSourcePostProcessor implements BeanPostProcessor {
+
+    // post-processors are created before configuration properties are bound
+    private final ObjectProvider<SqlMonitorProperties> properties;
+
+    public SqlMonitorDataSourcePostProcessor(ObjectProvider<SqlMonitorProperties> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                || !properties.getObject().isEnabled()) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(beanName, dataSource)
+                .listener(new RequestStatsListener())
+                .build();
+    }
+
+    private static final class RequestStatsListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                stats.started();
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                boolean single = !execInfo.isBatch() && queryInfoList.size() == 1;
+                stats.finished(single ? queryInfoList.get(0).getQuery() : null);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.blog.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and database time of each request, warns when a route goes over its
+ * statement budget or repeats the same statement with different parameters (the N+1 shape), and
+ * optionally reports both in a Server-Timing header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class SqlMonitorFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final SqlMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SqlMonitorFilter(SqlMonitorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = new SqlRequestStats(properties.getMaxTrackedStatements());
+        ServerTimingResponse timingResponse = properties.isServerTiming() ? new ServerTimingResponse(response, stats) : null;
+        SqlRequestStats.bind(stats);
+        try {
+            filterChain.doFilter(request, timingResponse != null ? timingResponse : response);
+        } finally {
+            SqlRequestStats.unbind();
+            if (timingResponse != null) {
+                timingResponse.writeServerTiming();
+            }
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlRequestStats stats) {
+        if (stats.statements() == 0) {
+            return;
+        }
+        String route = routeOf(request);
+        DistributionSummary.builder("blog.sql.statements")
+                .description("SQL statements run by one request")
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("blog.sql.time")
+                .description("Time one request spent executing SQL statements")
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        int budget = budgetFor(request).getStatements();
+        if (stats.statements() > budget) {
+            log.warn("{} {} ran {} SQL statements in {} ms, budget is {}", request.getMethod(), request.getRequestURI(),
+                    stats.statements(), TimeUnit.NANOSECONDS.toMillis(stats.nanos()), budget);
+            violation(route, "budget").increment();
+        }
+        List<Map.Entry<String, Integer>> repeated = stats.repeated(properties.getRepeatedStatementThreshold());
+        for (Map.Entry<String, Integer> statement : repeated) {
+            log.warn("{} {} ran the same SQL statement {} times, likely N+1: {}", request.getMethod(),
+                    request.getRequestURI(), statement.getValue(), abbreviate(statement.getKey()));
+        }
+        if (!repeated.isEmpty()) {
+            violation(route, "repeated").increment();
+        }
+    }
+
+    private Counter violation(String route, String reason) {
+        return Counter.builder("blog.sql.violations")
+                .description("Requests over their statement budget or repeating a statement")
+                .tag("uri", route)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private SqlMonitorProperties.Budget budgetFor(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (SqlMonitorProperties.Route route : properties.getRoutes()) {
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && PATH_MATCHER.match(route.getPattern(), path)) {
+                return route;
+            }
+        }
+        return properties.getDefaultBudget();
+    }
+
+    // the mapped pattern keeps metric tags bounded; raw paths would create one series per id
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private static String abbreviate(String sql) {
+        String flat = sql.replaceAll("\\s+", " ").trim();
+        return flat.length() <= MAX_LOGGED_SQL_LENGTH ? flat : flat.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    /**
+     * Sets the header just before the body starts, the last point where headers can still change.
+     * Statements run while the body is written, such as lazy loads during serialization, are counted
+     * in the log and metrics but not in the header.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeServerTiming() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            addHeader("Server-Timing", String.format(Locale.ROOT, "db;desc=\"%d SQL\";dur=%.2f",
+                    stats.statements(), stats.nanos() / 1_000_000.0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
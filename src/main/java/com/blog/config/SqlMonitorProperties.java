@@ -0,0 +1,57 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "blog.sql-monitor")
+public class SqlMonitorProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Adds a Server-Timing header with the statement count and database time; leaks query shape,
+     * so keep it off in production.
+     */
+    private boolean serverTiming = false;
+
+    /**
+     * A statement executed this many times in one request, with only its parameters changing, is
+     * reported as a likely N+1.
+     */
+    private int repeatedStatementThreshold = 5;
+
+    /**
+     * Upper bound on distinct statements remembered per request for repetition checks.
+     */
+    private int maxTrackedStatements = 200;
+
+    private Budget defaultBudget = new Budget();
+
+    /**
+     * Checked in order; the first route matching the path and method applies instead of the default.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Budget {
+
+        private int statements = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Route extends Budget {
+
+        private String pattern;
+
+        // any method when not set
+        private String method;
+    }
+}
@@ -0,0 +1,66 @@
+package com.blog.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statements run by the current request thread. Bound by {@link SqlMonitorFilter} and fed by the
+ * datasource proxy; work handed to other threads is not counted.
+ */
+final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final int maxTrackedStatements;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statements;
+    private long nanos;
+    private long startedAt;
+
+    SqlRequestStats(int maxTrackedStatements) {
+        this.maxTrackedStatements = maxTrackedStatements;
+    }
+
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void bind(SqlRequestStats stats) {
+        CURRENT.set(stats);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    void started() {
+        startedAt = System.nanoTime();
+    }
+
+    /**
+     * @param sql the statement text, or null for batches, which are one round trip by design
+     */
+    void finished(String sql) {
+        nanos += System.nanoTime() - startedAt;
+        statements++;
+        if (sql != null && (executionsBySql.size() < maxTrackedStatements || executionsBySql.containsKey(sql))) {
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long nanos() {
+        return nanos;
+    }
+
+    List<Map.Entry<String, Integer>> repeated(int threshold) {
+        return executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .toList();
+    }
+}
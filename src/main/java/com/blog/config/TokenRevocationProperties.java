@@ -0,0 +1,26 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.jwt.revocation")
+public class TokenRevocationProperties {
+
+    /**
+     * Revocations expected within one token lifetime; sizes the Bloom filter.
+     */
+    private long expectedRevocations = 100_000;
+
+    private double falsePositiveRate = 0.001;
+
+    /**
+     * How often the filter is rebuilt from the database and expired rows are purged. This is also how long
+     * a logout on another instance can take to be seen here.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+}
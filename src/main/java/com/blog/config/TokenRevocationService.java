@@ -0,0 +1,92 @@
+package com.blog.config;
+
+import com.blog.model.RevokedToken;
+import com.blog.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Denylist of revoked token ids. Revoked ids are stored until the token expires, and a Bloom filter
+ * rebuilt from the table answers the common "not revoked" case without a query.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationProperties properties;
+    private final JwtService jwtService;
+
+    // not a monitor: both sections run JDBC calls, which would pin a virtual carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile BloomFilter revoked;
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    public boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null || !revoked.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    /**
+     * Revokes the token until its expiry. Tokens that no longer verify are ignored since they are
+     * rejected anyway.
+     */
+    public void revoke(String token) {
+        Claims claims;
+        try {
+            claims = jwtService.verify(token);
+        } catch (JwtException e) {
+            log.info("Ignoring revocation of a token that does not verify");
+            return;
+        }
+        if (claims.getId() == null) {
+            log.warn("Token of {} has no id and cannot be revoked", claims.getSubject());
+            return;
+        }
+        // serialized with refresh() so a revocation cannot fall between its query and the filter swap
+        lock.lock();
+        try {
+            revokedTokenRepository.save(new RevokedToken(claims.getId(), claims.getExpiration()));
+            revoked.put(claims.getId());
+        } finally {
+            lock.unlock();
+        }
+        log.info("Token {} of {} revoked", claims.getId(), claims.getSubject());
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-interval:PT1M}",
+            initialDelayString = "${security.jwt.revocation.refresh-interval:PT1M}")
+    public void refresh() {
+        Date now = new Date();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        lock.lock();
+        try {
+            List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+            BloomFilter filter = new BloomFilter(Math.max(properties.getExpectedRevocations(), jtis.size() * 2L),
+                    properties.getFalsePositiveRate());
+            jtis.forEach(filter::put);
+            revoked = filter;
+            log.debug("Revocation filter rebuilt with {} tokens, {} expired rows purged", jtis.size(), purged);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
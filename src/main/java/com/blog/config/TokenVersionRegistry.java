@@ -0,0 +1,62 @@
+package com.blog.config;
+
+import com.blog.model.User;
+import com.blog.repository.UserRepository;
+import com.blog.util.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Current token version per user, loaded from the database when a user is first seen and kept up
+ * to date by the services that change accounts. Bumps made on another instance reach this node
+ * either when the cached entry expires or, for a token carrying a newer version than the cached
+ * one, straight away by reloading it.
+ */
+@Component
+@Slf4j
+public class TokenVersionRegistry {
+
+    private static final int REMOVED = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionRegistry(UserRepository userRepository, JwtProperties jwtProperties) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getVersionCacheSize())
+                .expireAfterWrite(jwtProperties.getVersionCacheTtl())
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, int version) {
+        int current = versions.get(userId, this::load);
+        if (current != REMOVED && version > current) {
+            // issued by another instance after a bump this node has not seen yet
+            current = load(userId);
+            versions.put(userId, current);
+        }
+        return current != REMOVED && current == version;
+    }
+
+    /**
+     * Invalidates every token issued to the user so far. The new version is saved with the user
+     * and published once the surrounding transaction commits.
+     */
+    public void bump(User user) {
+        int version = user.getTokenVersion() + 1;
+        user.setTokenVersion(version);
+        log.info("Token version of user {} bumped to {}", user.getId(), version);
+        TransactionCallbacks.afterCommit(() -> versions.put(user.getId(), version));
+    }
+
+    public void removed(Long userId) {
+        TransactionCallbacks.afterCommit(() -> versions.put(userId, REMOVED));
+    }
+
+    private int load(Long userId) {
+        return userRepository.findTokenVersionById(userId).orElse(REMOVED);
+    }
+}
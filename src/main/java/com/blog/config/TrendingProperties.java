@@ -0,0 +1,30 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "blog.trending")
+public class TrendingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Age at which a read counts for half as much as a read now.
+     */
+    private Duration halfLife = Duration.ofHours(1);
+
+    /**
+     * Articles kept in the leaderboard.
+     */
+    private int size = 50;
+
+    /**
+     * How often the snapshot served by the endpoint is rebuilt.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+}
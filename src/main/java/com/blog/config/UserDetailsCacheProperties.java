@@ -0,0 +1,22 @@
+package com.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "blog.user-cache")
+public class UserDetailsCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on how long a change made on another instance can go unnoticed.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+}
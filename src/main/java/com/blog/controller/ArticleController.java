@@ -1,7 +1,10 @@
 package com.blog.controller;
 
+import com.blog.dto.ArticleFeedResponse;
+import com.blog.dto.ArticleImportReport;
 import com.blog.dto.ArticleSaveDTO;
 import com.blog.dto.AuthorAssignmentRequest;
+import com.blog.record.ArticleIngestStatus;
 import com.blog.service.ArticleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,11 +17,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -39,28 +49,61 @@ public class ArticleController {
     @Operation(summary = "Create a new article", description = "Creates an article with the provided data")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Article created successfully"),
+            @ApiResponse(responseCode = "202", description = "Article queued, poll the Location for its outcome (async ingest mode)"),
             @ApiResponse(responseCode = "400", description = "Invalid article data"),
             @ApiResponse(responseCode = "404", description = "Author not found"),
-            @ApiResponse(responseCode = "409", description = "Article title already exists")
+            @ApiResponse(responseCode = "409", description = "Article title already exists"),
+            @ApiResponse(responseCode = "503", description = "Ingest queue full, retry later (async ingest mode)")
     })
     public ResponseEntity<Object> save(@RequestBody ArticleSaveDTO article) {
         log.info("Received request to create article with title {}", article.getTitle());
+        if (articleService.isIngestAsync()) {
+            ArticleIngestStatus status = articleService.enqueue(article);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/articles/ingest/" + status.trackingId()))
+                    .body(status);
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(articleService.save(article));
     }
 
+    @PreAuthorize("hasAnyRole('SUPERADMIN', 'ADMIN', 'AUTHOR')")
+    @GetMapping("/ingest/{trackingId}")
+    @Operation(summary = "Outcome of a queued article", description = "Reports whether an article accepted with 202 was persisted or rejected")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Submission is pending, persisted or rejected"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired tracking ID")
+    })
+    public ResponseEntity<ArticleIngestStatus> findIngestStatus(@PathVariable String trackingId) {
+        log.info("Received request for the outcome of article submission {}", trackingId);
+        return ResponseEntity.ok(articleService.findIngestStatus(trackingId));
+    }
+
+    @PreAuthorize("hasAnyRole('SUPERADMIN', 'ADMIN')")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import articles in bulk", description = "Imports a JSON array or newline-delimited JSON of articles and reports the rows that were rejected")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected rows")
+    })
+    public ResponseEntity<ArticleImportReport> importArticles(InputStream body) throws IOException {
+        log.info("Received request to import articles");
+        return ResponseEntity.ok(articleService.importArticles(body));
+    }
+
     @PreAuthorize("hasAnyRole('SUPERADMIN', 'ADMIN', 'AUTHOR')")
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing article", description = "Updates an article identified by its ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Article updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid article data"),
-            @ApiResponse(responseCode = "404", description = "Article not found")
+            @ApiResponse(responseCode = "404", description = "Article not found"),
+            @ApiResponse(responseCode = "412", description = "Article changed since the ETag in If-Match")
     })
-    public ResponseEntity<ArticleSaveDTO> update(@PathVariable Long id, @RequestBody ArticleSaveDTO article){
+    public ResponseEntity<ArticleSaveDTO> update(@PathVariable Long id, @RequestBody ArticleSaveDTO article,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
         log.info("Received request to update article {} with payload", id);
-        ArticleSaveDTO updated = articleService.update(id, article);
+        ArticleSaveDTO updated = articleService.update(id, article, ifMatch);
         log.info("Article {} updated successfully", id);
-        return ResponseEntity.status(HttpStatus.OK).body(updated);
+        return ResponseEntity.status(HttpStatus.OK).eTag(articleService.findETag(id)).body(updated);
     }
 
     @PreAuthorize("hasAnyRole('SUPERADMIN', 'ADMIN')")
@@ -69,11 +112,14 @@ public class ArticleController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Article status updated successfully"),
             @ApiResponse(responseCode = "400", description = "Requested state already applied"),
-            @ApiResponse(responseCode = "404", description = "Article not found")
+            @ApiResponse(responseCode = "404", description = "Article not found"),
+            @ApiResponse(responseCode = "412", description = "Article changed since the ETag in If-Match")
     })
-    public ResponseEntity<String> active(@PathVariable Long id, @RequestParam Boolean active){
+    public ResponseEntity<String> active(@PathVariable Long id, @RequestParam Boolean active,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
         log.info("Received request to change active flag for article {} to {}", id, active);
-        return ResponseEntity.ok(articleService.active(id, active));
+        String response = articleService.active(id, active, ifMatch);
+        return ResponseEntity.ok().eTag(articleService.findETag(id)).body(response);
     }
 
     @PreAuthorize("hasAnyRole('SUPERADMIN', 'ADMIN')")
@@ -96,10 +142,18 @@ public class ArticleController {
     @Operation(summary = "Find article by ID", description = "Retrieves an article using its identifier")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Article retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Article unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Article not found")
     })
-    public ResponseEntity<ArticleSaveDTO> findById(@PathVariable("id") Long id) {
+    public ResponseEntity<ArticleSaveDTO> findById(@PathVariable("id") Long id, WebRequest webRequest) {
         log.info("Received request to fetch article {}", id);
+        String etag = articleService.findETag(id);
+        // a revalidated read is still a read; the count is not part of the ETag
+        articleService.recordView(id);
+        if (webRequest.checkNotModified(etag)) {
+            log.info("Article {} not modified", id);
+            return null;
+        }
         ArticleSaveDTO article = articleService.findById(id);
         log.info("Article {} retrieved successfully", id);
         return ResponseEntity.status(HttpStatus.OK).body(article);
@@ -123,10 +177,26 @@ public class ArticleController {
         }
     }
 
+    @PreAuthorize("hasAnyRole('SUPERADMIN', 'ADMIN')")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all articles", description = "Streams every article as newline-delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Articles streamed successfully")
+    })
+    public ResponseEntity<StreamingResponseBody> export() {
+        log.info("Received request to export all articles");
+        StreamingResponseBody body = out -> {
+            long exported = articleService.exportAll(out);
+            log.info("Streamed {} articles", exported);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/page")
     @Operation(summary = "Paginated articles", description = "Retrieve articles with pagination parameters")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Paginated articles retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "204", description = "No articles found for the requested page")
     })
     public ResponseEntity<Page<ArticleSaveDTO>> findAllPagination(
@@ -137,10 +207,15 @@ public class ArticleController {
             @Parameter(name = "sortBy", description = "Sorting field", in = ParameterIn.QUERY)
             @RequestParam (defaultValue = "id") String sortBy,
             @Parameter(name = "direction", description = "Sorting direction", in = ParameterIn.QUERY)
-            @RequestParam (defaultValue = "asc") String direction
+            @RequestParam (defaultValue = "asc") String direction,
+            WebRequest webRequest
     ){
         log.info("Received request for paginated articles page={} size={} sortBy={} direction={}", page, size, sortBy, direction);
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(direction), sortBy));
+        if (webRequest.checkNotModified(articleService.findPageETag(pageable))) {
+            log.info("Paginated articles not modified");
+            return null;
+        }
         Page<ArticleSaveDTO> articles = articleService.findAllPagination(pageable);
         if(articles.isEmpty()){
             log.info("Paginated articles result is empty");
@@ -152,6 +227,48 @@ public class ArticleController {
 
     }
 
+    @GetMapping("/trending")
+    @Operation(summary = "Trending articles", description = "Most read articles, with older reads counting for less; served from memory")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Trending articles retrieved successfully"),
+            @ApiResponse(responseCode = "204", description = "No article has been read yet")
+    })
+    public ResponseEntity<List<ArticleSaveDTO>> findTrending(
+            @Parameter(name = "limit", description = "Maximum number of articles", in = ParameterIn.QUERY)
+            @RequestParam (defaultValue = "10") Integer limit
+    ){
+        log.info("Received request for {} trending articles", limit);
+        List<ArticleSaveDTO> trending = articleService.findTrending(Math.max(limit, 1));
+        if(trending.isEmpty()){
+            log.info("No trending articles yet");
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(trending);
+    }
+
+    @GetMapping("/feed")
+    @Operation(summary = "Article feed", description = "Retrieve the newest articles using cursor based pagination")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Feed page retrieved successfully"),
+            @ApiResponse(responseCode = "204", description = "No articles found after the given cursor"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<ArticleFeedResponse> findFeed(
+            @Parameter(name = "after", description = "Opaque cursor returned as nextCursor by the previous page", in = ParameterIn.QUERY)
+            @RequestParam (required = false) String after,
+            @Parameter(name = "size", description = "Number of elements per page", in = ParameterIn.QUERY)
+            @RequestParam (defaultValue = "10") Integer size
+    ){
+        log.info("Received request for article feed after={} size={}", after, size);
+        ArticleFeedResponse feed = articleService.findFeed(after, size);
+        if(feed.getContent().isEmpty()){
+            log.info("Article feed result is empty");
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).body(feed);
+        }
+        log.info("Returning {} articles for requested feed page", feed.getContent().size());
+        return ResponseEntity.status(HttpStatus.OK).body(feed);
+    }
+
     @GetMapping("/page-search")
     @Operation(summary = "Paginated search of articles", description = "Retrieve paginated articles filtered by search criteria")
     @ApiResponses({
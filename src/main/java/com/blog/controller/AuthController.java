@@ -6,7 +6,10 @@ import com.blog.dto.LoginRequest;
 import com.blog.dto.RegisterRequest;
 import com.blog.model.User;
 import com.blog.record.AuthenticationResult;
+import com.blog.record.JwtPrincipal;
 import com.blog.service.AuthService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -14,7 +17,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -29,9 +36,9 @@ public class AuthController {
     public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest registerRequest){
         AuthenticationResult authenticationResult = authService.registre(registerRequest);
         log.info("User registered successfully");
-        ResponseCookie cookie =buildTokenCookie(authenticationResult.token());
         return ResponseEntity.status(201)
-                .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                .header(HttpHeaders.SET_COOKIE, buildTokenCookie(authenticationResult.token()).toString())
+                .header(HttpHeaders.SET_COOKIE, buildRefreshCookie(authenticationResult.refreshToken()).toString())
                 .body(authenticationResult.user());
     }
 
@@ -39,24 +46,45 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest loginRequest){
         AuthenticationResult authenticationResult = authService.login(loginRequest);
         log.info("User  {} logged in successfully", loginRequest.getEmail());
-        ResponseCookie cookie =buildTokenCookie(authenticationResult.token());
         return ResponseEntity.status(200)
-                .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                .header(HttpHeaders.SET_COOKIE, buildTokenCookie(authenticationResult.token()).toString())
+                .header(HttpHeaders.SET_COOKIE, buildRefreshCookie(authenticationResult.refreshToken()).toString())
+                .body(authenticationResult.user());
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(HttpServletRequest request){
+        String refreshToken = cookieValue(request, jwtProperties.getRefreshCookieName());
+        if (refreshToken == null) {
+            log.warn("Refresh requested without a refresh token cookie");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        AuthenticationResult authenticationResult = authService.refresh(refreshToken);
+        log.info("Access token refreshed for {}", authenticationResult.user().getEmail());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, buildTokenCookie(authenticationResult.token()).toString())
+                .header(HttpHeaders.SET_COOKIE, buildRefreshCookie(authenticationResult.refreshToken()).toString())
                 .body(authenticationResult.user());
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout(){
-        ResponseCookie cookie = clearTokenCookie();
-        log.info("User logged out, clearing JWT cookie");
+    public ResponseEntity<Void> logout(HttpServletRequest request){
+        authService.logout(cookieValue(request, jwtProperties.getCookieName()),
+                cookieValue(request, jwtProperties.getRefreshCookieName()));
+        log.info("User logged out, clearing JWT cookies");
         return ResponseEntity.noContent()
-                .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                .header(HttpHeaders.SET_COOKIE, clearTokenCookie().toString())
+                .header(HttpHeaders.SET_COOKIE, clearRefreshCookie().toString())
                 .build();
 
     }
 
     @GetMapping("/me")
     public ResponseEntity<AuthResponse> currentUser(Authentication authentication) {
+        if(authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            log.info("User {} retrieved successfully", principal.email());
+            return ResponseEntity.ok(authService.currentUser(principal.id()));
+        }
         if(authentication == null || !(authentication.getPrincipal() instanceof User user)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -72,23 +100,36 @@ public class AuthController {
         return ResponseEntity.ok(authResponse);
     }
 
+    private static String cookieValue(HttpServletRequest request, String name) {
+        Cookie cookie = WebUtils.getCookie(request, name);
+        return cookie != null && StringUtils.hasText(cookie.getValue()) ? cookie.getValue() : null;
+    }
+
     private ResponseCookie buildTokenCookie(String token) {
-        return ResponseCookie.from(jwtProperties.getCookieName(), token)
-                .httpOnly(true)
-                .secure(jwtProperties.isCookieSecure())
-                .sameSite(jwtProperties.getCookieSameSite())
-                .path(jwtProperties.getCookiePath())
-                .maxAge(jwtProperties.getExpirationMinutes()
-        ).build();
+        return cookie(jwtProperties.getCookieName(), token, jwtProperties.getCookiePath(),
+                Duration.ofMinutes(jwtProperties.getExpirationMinutes()));
     }
 
     private ResponseCookie clearTokenCookie() {
-        return ResponseCookie.from(jwtProperties.getCookieName(), "")
+        return cookie(jwtProperties.getCookieName(), "", jwtProperties.getCookiePath(), Duration.ZERO);
+    }
+
+    private ResponseCookie buildRefreshCookie(String refreshToken) {
+        return cookie(jwtProperties.getRefreshCookieName(), refreshToken, jwtProperties.getRefreshCookiePath(),
+                Duration.ofDays(jwtProperties.getRefreshExpirationDays()));
+    }
+
+    private ResponseCookie clearRefreshCookie() {
+        return cookie(jwtProperties.getRefreshCookieName(), "", jwtProperties.getRefreshCookiePath(), Duration.ZERO);
+    }
+
+    private ResponseCookie cookie(String name, String value, String path, Duration maxAge) {
+        return ResponseCookie.from(name, value)
                 .httpOnly(true)
                 .secure(jwtProperties.isCookieSecure())
                 .sameSite(jwtProperties.getCookieSameSite())
-                .path(jwtProperties.getCookiePath())
-                .maxAge(jwtProperties.getExpirationMinutes()
-                ).build();
+                .path(path)
+                .maxAge(maxAge)
+                .build();
     }
 }
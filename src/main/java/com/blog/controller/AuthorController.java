@@ -14,10 +14,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -66,13 +68,15 @@ public class AuthorController {
             @ApiResponse(responseCode = "200", description = "Author updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid author data"),
             @ApiResponse(responseCode = "404", description = "Author not found"),
-            @ApiResponse(responseCode = "409", description = "Author email already exists")
+            @ApiResponse(responseCode = "409", description = "Author email already exists"),
+            @ApiResponse(responseCode = "412", description = "Author changed since the ETag in If-Match")
     })
-    public ResponseEntity<UserSaveDTO> update(@PathVariable Long id, @RequestBody UserSaveDTO author) {
+    public ResponseEntity<UserSaveDTO> update(@PathVariable Long id, @RequestBody UserSaveDTO author,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Received request to update author {}", id);
-        UserSaveDTO updated = authorService.update(id, author);
+        UserSaveDTO updated = authorService.update(id, author, ifMatch);
         log.info("Author {} updated successfully", id);
-        return ResponseEntity.status(HttpStatus.OK).body(updated);
+        return ResponseEntity.status(HttpStatus.OK).eTag(authorService.findETag(id)).body(updated);
     }
 
     @PreAuthorize("hasAnyRole('SUPERADMIN', 'ADMIN')")
@@ -81,13 +85,15 @@ public class AuthorController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Author status updated successfully"),
             @ApiResponse(responseCode = "400", description = "Active flag not provided"),
-            @ApiResponse(responseCode = "404", description = "Author not found")
+            @ApiResponse(responseCode = "404", description = "Author not found"),
+            @ApiResponse(responseCode = "412", description = "Author changed since the ETag in If-Match")
     })
-    public ResponseEntity<String> active(@PathVariable Long id, @RequestParam Boolean active) {
+    public ResponseEntity<String> active(@PathVariable Long id, @RequestParam Boolean active,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Received request to change active flag for author {} to {}", id, active);
-        String response = authorService.active(id, active);
+        String response = authorService.active(id, active, ifMatch);
         log.info("Active flag change processed for author {}", id);
-        return ResponseEntity.status(HttpStatus.OK).body(response);
+        return ResponseEntity.status(HttpStatus.OK).eTag(authorService.findETag(id)).body(response);
     }
 
     @PreAuthorize("hasAnyRole('SUPERADMIN', 'ADMIN') or (hasRole('AUTHOR') and #id == principal.id)")
@@ -95,10 +101,15 @@ public class AuthorController {
     @Operation(summary = "Find author by ID", description = "Retrieves an author using its identifier")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Author retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Author unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Author not found")
     })
-    public ResponseEntity<UserSaveDTO> findById(@PathVariable("id") Long id) {
+    public ResponseEntity<UserSaveDTO> findById(@PathVariable("id") Long id, WebRequest webRequest) {
         log.info("Received request to fetch author {}", id);
+        if (webRequest.checkNotModified(authorService.findETag(id))) {
+            log.info("Author {} not modified", id);
+            return null;
+        }
         UserSaveDTO author = authorService.findById(id);
         log.info("Author {} retrieved successfully", id);
         return ResponseEntity.status(HttpStatus.OK).body(author);
@@ -2,6 +2,7 @@ package com.blog.converter;
 
 import com.blog.dto.ArticleSaveDTO;
 import com.blog.model.Article;
+import com.blog.repository.ArticleSearchHit;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring")
@@ -12,8 +13,13 @@ public interface ArticleMapper {
 //  @Mapping(target = "authorId", source = "author.id")
     @Mapping(target = "authorId", expression = "java(article.getAuthor() != null ? article.getAuthor().getId() : null)")
     @Mapping(target = "authorFullName", expression = "java(article.getAuthor() != null ? article.getAuthor().getFirstName() + \" \" + article.getAuthor().getLastName() : null)")
+    @Mapping(target = "snippet", ignore = true)
+    @Mapping(target = "viewCount", source = "views")
     ArticleSaveDTO toDTO(Article article);
 
+    @Mapping(target = "authorFullName", expression = "java(hit.getAuthorId() != null ? hit.getAuthorFirstName() + \" \" + hit.getAuthorLastName() : null)")
+    ArticleSaveDTO toDTO(ArticleSearchHit hit);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateArticleFromDTO(@MappingTarget Article article, ArticleSaveDTO articleDTO);
 }
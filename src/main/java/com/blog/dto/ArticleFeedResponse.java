@@ -0,0 +1,14 @@
+package com.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ArticleFeedResponse {
+
+    private final List<ArticleSaveDTO> content;
+    private final String nextCursor;
+}
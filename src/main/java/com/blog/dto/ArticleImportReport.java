@@ -0,0 +1,16 @@
+package com.blog.dto;
+
+import com.blog.record.ArticleImportResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ArticleImportReport {
+
+    private final int received;
+    private final int imported;
+    private final List<ArticleImportResult> errors;
+}
@@ -1,15 +1,18 @@
 package com.blog.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
 @Getter
 @Setter
 @ToString
+@NoArgsConstructor
 public class ArticleSaveDTO {
 
     @NotBlank(message = "Title is required")
@@ -19,5 +22,33 @@ public class ArticleSaveDTO {
     @NotNull(message = "Author is required")
     private Long authorId;
     private String authorFullName;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String snippet;
+    private Long viewCount;
+
+    /**
+     * Used by JPQL constructor expressions to build the DTO straight from the article/author join.
+     */
+    public ArticleSaveDTO(String title, String content, Long authorId, String authorFirstName, String authorLastName, Long viewCount) {
+        this.title = title;
+        this.content = content;
+        this.authorId = authorId;
+        this.authorFullName = authorId != null ? authorFirstName + " " + authorLastName : null;
+        this.viewCount = viewCount;
+    }
+
+    /**
+     * Copy of this article with another author, every other field kept.
+     */
+    public ArticleSaveDTO withAuthor(Long authorId, String authorFullName) {
+        ArticleSaveDTO copy = new ArticleSaveDTO();
+        copy.setTitle(title);
+        copy.setContent(content);
+        copy.setAuthorId(authorId);
+        copy.setAuthorFullName(authorFullName);
+        copy.setSnippet(snippet);
+        copy.setViewCount(viewCount);
+        return copy;
+    }
 
 }
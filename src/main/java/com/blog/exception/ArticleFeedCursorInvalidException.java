@@ -0,0 +1,10 @@
+package com.blog.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ArticleFeedCursorInvalidException extends BlogException {
+
+    public ArticleFeedCursorInvalidException(String cursor) {
+        super("Invalid feed cursor: " + cursor, HttpStatus.BAD_REQUEST);
+    }
+}
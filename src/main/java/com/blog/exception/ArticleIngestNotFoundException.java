@@ -0,0 +1,10 @@
+package com.blog.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ArticleIngestNotFoundException extends BlogException {
+
+    public ArticleIngestNotFoundException(String trackingId) {
+        super("No article submission with tracking ID: " + trackingId, HttpStatus.NOT_FOUND);
+    }
+}
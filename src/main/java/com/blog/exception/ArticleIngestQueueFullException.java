@@ -0,0 +1,10 @@
+package com.blog.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ArticleIngestQueueFullException extends BlogException {
+
+    public ArticleIngestQueueFullException() {
+        super("Too many articles waiting to be written, please retry shortly", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
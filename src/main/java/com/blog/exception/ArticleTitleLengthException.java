@@ -0,0 +1,11 @@
+package com.blog.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ArticleTitleLengthException extends BlogException{
+
+    public ArticleTitleLengthException(){
+        super("Title has to be at least 3 characters", HttpStatus.BAD_REQUEST);
+    }
+
+}
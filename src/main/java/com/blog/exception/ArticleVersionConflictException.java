@@ -0,0 +1,10 @@
+package com.blog.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ArticleVersionConflictException extends BlogException {
+
+    public ArticleVersionConflictException(Long articleId) {
+        super("Article with ID: " + articleId + " was modified since it was read, reload it and retry", HttpStatus.PRECONDITION_FAILED);
+    }
+}
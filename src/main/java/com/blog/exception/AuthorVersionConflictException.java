@@ -0,0 +1,10 @@
+package com.blog.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class AuthorVersionConflictException extends BlogException {
+
+    public AuthorVersionConflictException(Long authorId) {
+        super("Author with ID: " + authorId + " was modified since it was read, reload it and retry", HttpStatus.PRECONDITION_FAILED);
+    }
+}
@@ -3,6 +3,7 @@ package com.blog.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,4 +25,17 @@ public class BlogExceptionHandler {
         );
         return ResponseEntity.status(status).body(error);
     }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex, HttpServletRequest request){
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+        ApiError error = new ApiError(
+               Instant.now(),
+               status.value(),
+               status.getReasonPhrase(),
+               "Resource was modified concurrently, reload it and retry",
+               request.getRequestURI()
+        );
+        return ResponseEntity.status(status).body(error);
+    }
 }
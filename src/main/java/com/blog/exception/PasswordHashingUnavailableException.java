@@ -0,0 +1,10 @@
+package com.blog.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class PasswordHashingUnavailableException extends BlogException {
+
+    public PasswordHashingUnavailableException() {
+        super("Too many password operations in progress, please retry shortly", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
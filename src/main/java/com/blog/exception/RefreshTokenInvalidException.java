@@ -0,0 +1,10 @@
+package com.blog.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class RefreshTokenInvalidException extends BlogException {
+
+    public RefreshTokenInvalidException() {
+        super("Refresh token is invalid or expired, please log in again", HttpStatus.UNAUTHORIZED);
+    }
+}
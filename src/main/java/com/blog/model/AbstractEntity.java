@@ -17,9 +17,13 @@ import java.util.Date;
 public abstract class AbstractEntity<ID extends Serializable> implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private ID id;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "created_at", nullable = false, updatable = false)
     private Date createdAt;
@@ -6,11 +6,16 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 
 @Entity
+@Table(indexes = @Index(name = "idx_article_created_at_id", columnList = "created_at DESC, id DESC"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "article")
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -38,4 +43,9 @@ public class Article extends AbstractEntity<Long>{
 
     private Boolean isActive = true;
 
+    // only ever incremented in bulk by ArticleViewCounter
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long views = 0L;
+
 }
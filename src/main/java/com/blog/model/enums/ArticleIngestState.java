@@ -0,0 +1,7 @@
+package com.blog.model.enums;
+
+public enum ArticleIngestState {
+    PENDING,
+    PERSISTED,
+    REJECTED
+}
@@ -0,0 +1,35 @@
+package com.blog.record;
+
+import com.blog.exception.ArticleFeedCursorInvalidException;
+import com.blog.model.Article;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+public record ArticleFeedCursor(Date createdAt, Long id) {
+
+    public static ArticleFeedCursor of(Article article) {
+        return new ArticleFeedCursor(article.getCreatedAt(), article.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ArticleFeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new ArticleFeedCursorInvalidException(token);
+            }
+            return new ArticleFeedCursor(
+                    new Date(Long.parseLong(raw.substring(0, separator))),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ArticleFeedCursorInvalidException(token);
+        }
+    }
+}
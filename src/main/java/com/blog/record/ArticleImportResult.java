@@ -0,0 +1,12 @@
+package com.blog.record;
+
+public record ArticleImportResult(int row, String title, Long id, String error) {
+
+    public static ArticleImportResult imported(int row, String title, Long id) {
+        return new ArticleImportResult(row, title, id, null);
+    }
+
+    public static ArticleImportResult rejected(int row, String title, String error) {
+        return new ArticleImportResult(row, title, null, error);
+    }
+}
@@ -0,0 +1,6 @@
+package com.blog.record;
+
+import com.blog.dto.ArticleSaveDTO;
+
+public record ArticleIngestEntry(String trackingId, ArticleSaveDTO article) {
+}
@@ -0,0 +1,18 @@
+package com.blog.record;
+
+import com.blog.model.enums.ArticleIngestState;
+
+public record ArticleIngestStatus(String trackingId, ArticleIngestState state, Long articleId, String error) {
+
+    public static ArticleIngestStatus pending(String trackingId) {
+        return new ArticleIngestStatus(trackingId, ArticleIngestState.PENDING, null, null);
+    }
+
+    public static ArticleIngestStatus persisted(String trackingId, Long articleId) {
+        return new ArticleIngestStatus(trackingId, ArticleIngestState.PERSISTED, articleId, null);
+    }
+
+    public static ArticleIngestStatus rejected(String trackingId, String error) {
+        return new ArticleIngestStatus(trackingId, ArticleIngestState.REJECTED, null, error);
+    }
+}
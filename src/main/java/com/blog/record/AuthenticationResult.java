@@ -2,5 +2,5 @@ package com.blog.record;
 
 import com.blog.dto.AuthResponse;
 
-public record AuthenticationResult(AuthResponse user, String token) {
+public record AuthenticationResult(AuthResponse user, String token, String refreshToken) {
 }
@@ -0,0 +1,32 @@
+package com.blog.record;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * What a representation depends on: how many rows it covers and when they, and the authors shown
+ * with them, last changed. Any change to those produces a different ETag. The tag is weak because
+ * the rows also carry view counts, which change without touching any of these.
+ */
+public record ContentStamp(Long count, Date lastModified, Date authorLastModified) {
+
+    /**
+     * @param scope distinguishes representations built from the same rows, e.g. page number and sort
+     */
+    public String toETag(String scope) {
+        String value = scope + '|' + count + '|' + millis(lastModified) + '|' + millis(authorLastModified);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static long millis(Date date) {
+        return date == null ? 0 : date.getTime();
+    }
+}
@@ -0,0 +1,6 @@
+package com.blog.record;
+
+import com.blog.model.User;
+
+public record RefreshTokenRotation(User user, String refreshToken) {
+}
@@ -0,0 +1,42 @@
+package com.blog.record;
+
+import java.util.Arrays;
+
+/**
+ * Optimistic-lock versions behind a single resource. Articles also carry their author's version because
+ * the representation embeds the author's name.
+ */
+public record VersionStamp(Long version, Long authorVersion) {
+
+    public VersionStamp(Long version) {
+        this(version, null);
+    }
+
+    public String toETag() {
+        return '"' + String.valueOf(version) + (authorVersion != null ? "." + authorVersion : "") + '"';
+    }
+
+    /**
+     * For representations that also carry a live counter the versions do not cover, such as an article's
+     * view count; the same versions can then be served with different bytes.
+     */
+    public String toWeakETag() {
+        return "W/" + toETag();
+    }
+
+    /**
+     * Compares against an If-Match header; a missing header or {@code *} always matches. The weak tag
+     * handed out by reads is accepted too: it names the same versions, and the counter it leaves out is
+     * never written by clients.
+     */
+    public boolean matches(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return true;
+        }
+        String etag = toETag();
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(etag::equals);
+    }
+}
@@ -1,27 +1,116 @@
 package com.blog.repository;
 
+import com.blog.dto.ArticleSaveDTO;
 import com.blog.model.Article;
+import com.blog.record.ContentStamp;
+import com.blog.record.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-@Repository
-public interface ArticleRepository extends JpaRepository<Article, Long> {
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
-    boolean existsByTitle(String title);
+@Repository
+public interface ArticleRepository extends JpaRepository<Article, Long>, ArticleRepositoryCustom {
 
+    String SELECT_ARTICLE_DTO = "SELECT new com.blog.dto.ArticleSaveDTO(" +
+            "art.title, art.content, au.id, au.firstName, au.lastName, art.views) " +
+            "FROM Article art LEFT JOIN art.author au ";
 
-    @Query("SELECT art FROM Article art " +
-            "WHERE " +
+    String SEARCH_CONDITION = "WHERE " +
             "(:criteria IS NULL OR :criteria = ''" +
             "OR art.title LIKE %:criteria% " +
             "OR art.content LIKE %:criteria% " +
-            "OR art.author.firstName LIKE %:criteria% " +
-            "OR art.author.lastName LIKE %:criteria% " +
-            "or CAST(art.id AS string) = :criteria)")
-    Page<Article> findAllWithSearch(@Param("criteria") String criteria, Pageable pageable);
+            "OR au.firstName LIKE %:criteria% " +
+            "OR au.lastName LIKE %:criteria% " +
+            "or CAST(art.id AS string) = :criteria)";
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    boolean existsByTitle(String title);
+
+    String SELECT_CONTENT_STAMP = "SELECT new com.blog.record.ContentStamp(COUNT(art), " +
+            "MAX(COALESCE(art.updatedAt, art.createdAt)), MAX(COALESCE(au.updatedAt, au.createdAt))) " +
+            "FROM Article art LEFT JOIN art.author au ";
+
+    @Query("SELECT new com.blog.record.VersionStamp(art.version, au.version) " +
+            "FROM Article art LEFT JOIN art.author au WHERE art.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    @Query("SELECT art FROM Article art LEFT JOIN FETCH art.author WHERE art.id IN :ids")
+    List<Article> findAllWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+
+    // not read from the cached entity, whose views is only as fresh as its last load
+    @Query("SELECT art.views FROM Article art WHERE art.id = :id")
+    Optional<Long> findViewsById(@Param("id") Long id);
+
+    // covers the whole table since every page also reports the total count
+    @Query(SELECT_CONTENT_STAMP)
+    ContentStamp findStamp();
+
+    // single statement; matches nothing when the article is missing, already in that state or at another version
+    @Modifying
+    @Query("UPDATE Article art SET art.isActive = :active, art.version = art.version + 1, art.updatedAt = :now " +
+            "WHERE art.id = :id AND (art.isActive IS NULL OR art.isActive <> :active) " +
+            "AND art.version = COALESCE(:version, art.version)")
+    int updateActive(@Param("id") Long id, @Param("active") Boolean active, @Param("version") Long version, @Param("now") Date now);
+
+    @Query("SELECT art.title FROM Article art WHERE art.title IN :titles")
+    Set<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    @Query(SELECT_ARTICLE_DTO)
+    List<ArticleSaveDTO> findAllAsDTO();
+
+    @Query(value = SELECT_ARTICLE_DTO, countQuery = "SELECT COUNT(art) FROM Article art")
+    Page<ArticleSaveDTO> findAllAsDTO(Pageable pageable);
+
+    @Query(value = SELECT_ARTICLE_DTO + SEARCH_CONDITION,
+            countQuery = "SELECT COUNT(art) FROM Article art LEFT JOIN art.author au " + SEARCH_CONDITION)
+    Page<ArticleSaveDTO> findAllWithSearch(@Param("criteria") String criteria, Pageable pageable);
+
+    @Query(value = "SELECT art.id AS id, art.title AS title, art.content AS content, " +
+            "au.id AS authorId, au.first_name AS authorFirstName, au.last_name AS authorLastName, art.views AS viewCount, " +
+            "ts_headline('simple', concat_ws(' ', art.title, art.content), q, " +
+            "'StartSel=<mark>, StopSel=</mark>, MaxFragments=2') AS snippet " +
+            "FROM article art " +
+            "LEFT JOIN users au ON au.id = art.author_id " +
+            "CROSS JOIN websearch_to_tsquery('simple', :criteria) q " +
+            "WHERE art.search_vector @@ q OR art.id = :id " +
+            "ORDER BY ts_rank(art.search_vector, q) DESC, art.id",
+            countQuery = "SELECT count(*) FROM article art " +
+                    "CROSS JOIN websearch_to_tsquery('simple', :criteria) q " +
+                    "WHERE art.search_vector @@ q OR art.id = :id",
+            nativeQuery = true)
+    Page<ArticleSearchHit> findAllWithFullTextSearch(@Param("criteria") String criteria, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT CAST(COALESCE(MAX(art.id), 0) AS Long) FROM Article art")
+    long findMaxId();
+
+    @Query("SELECT art FROM Article art LEFT JOIN FETCH art.author " +
+            "WHERE art.id > :afterId AND art.id <= :maxId ORDER BY art.id")
+    List<Article> findIndexChunk(@Param("afterId") Long afterId, @Param("maxId") Long maxId, Limit limit);
+
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT art FROM Article art ORDER BY art.createdAt DESC, art.id DESC")
+    List<Article> findFeedFirstPage(Limit limit);
+
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT art FROM Article art " +
+            "WHERE art.createdAt <= :createdAt " +
+            "AND (art.createdAt < :createdAt OR art.id < :id) " +
+            "ORDER BY art.createdAt DESC, art.id DESC")
+    List<Article> findFeedAfter(@Param("createdAt") Date createdAt, @Param("id") Long id, Limit limit);
 
 }
@@ -0,0 +1,14 @@
+package com.blog.repository;
+
+import com.blog.dto.ArticleSaveDTO;
+import com.blog.model.Article;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ArticleRepositoryCustom {
+
+    Stream<ArticleSaveDTO> streamAllAsDTO(int fetchSize);
+
+    void insertAll(List<Article> articles);
+}
@@ -0,0 +1,53 @@
+package com.blog.repository;
+
+import com.blog.dto.ArticleSaveDTO;
+import com.blog.model.Article;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ArticleRepositoryCustomImpl implements ArticleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    /**
+     * Forward-only cursor over the article/author join. Rows are DTOs, so nothing is
+     * attached to the persistence context while the stream is consumed; the caller
+     * must hold a transaction open and close the stream.
+     */
+    @Override
+    public Stream<ArticleSaveDTO> streamAllAsDTO(int fetchSize) {
+        return entityManager.createQuery(ArticleRepository.SELECT_ARTICLE_DTO + "ORDER BY art.id", ArticleSaveDTO.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Persists the articles in one transaction, flushing and clearing every JDBC batch so the
+     * persistence context stays small. Ids come from the pooled sequence, which lets Hibernate
+     * group the inserts into JDBC batches.
+     */
+    @Transactional
+    @Override
+    public void insertAll(List<Article> articles) {
+        for (int i = 0; i < articles.size(); i++) {
+            entityManager.persist(articles.get(i));
+            if ((i + 1) % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,20 @@
+package com.blog.repository;
+
+public interface ArticleSearchHit {
+
+    Long getId();
+
+    String getTitle();
+
+    String getContent();
+
+    Long getAuthorId();
+
+    String getAuthorFirstName();
+
+    String getAuthorLastName();
+
+    Long getViewCount();
+
+    String getSnippet();
+}
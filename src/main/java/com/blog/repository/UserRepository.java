@@ -1,20 +1,65 @@
 package com.blog.repository;
 
 import com.blog.model.User;
+import com.blog.model.enums.Domain;
 import com.blog.model.enums.Role;
+import com.blog.record.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String SEARCH_CONDITION = "(LOWER(u.firstName) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(u.lastName) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(u.email) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(u.biography) LIKE :pattern ESCAPE '\\' " +
+            "OR u.domain IN :domains)";
+
     Optional<User> findByEmail(String email);
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
 
+    @Query("SELECT new com.blog.record.VersionStamp(u.version) FROM User u WHERE u.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
     Page<User> findByRole(Role role, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE " + SEARCH_CONDITION)
+    Page<User> search(@Param("pattern") String pattern, @Param("domains") Collection<Domain> domains, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.role = :role AND " + SEARCH_CONDITION)
+    Page<User> searchByRole(@Param("role") Role role, @Param("pattern") String pattern,
+                            @Param("domains") Collection<Domain> domains, Pageable pageable);
+
+    static String containsPattern(String criteria) {
+        String escaped = criteria.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    static Collection<Domain> domainsContaining(String criteria) {
+        String filter = criteria.toLowerCase(Locale.ROOT);
+        return Arrays.stream(Domain.values())
+                .filter(domain -> domain.name().toLowerCase(Locale.ROOT).contains(filter))
+                .toList();
+    }
 }
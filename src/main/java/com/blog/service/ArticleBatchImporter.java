@@ -0,0 +1,133 @@
+package com.blog.service;
+
+import com.blog.dto.ArticleSaveDTO;
+import com.blog.exception.ArticleContentLengthException;
+import com.blog.exception.ArticleDuplicatedTitleException;
+import com.blog.exception.ArticleRequiredAuthorException;
+import com.blog.exception.ArticleTitleLengthException;
+import com.blog.exception.AuthorNotFoundException;
+import com.blog.model.Article;
+import com.blog.model.User;
+import com.blog.model.enums.Role;
+import com.blog.record.ArticleImportResult;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.UserRepository;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Validates a batch of articles with set-based queries and inserts the valid ones in one transaction.
+ * When the database rejects the batch, its rows are retried one by one so only the offending rows fail.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleBatchImporter {
+
+    private final ArticleRepository articleRepository;
+    private final UserRepository userRepository;
+    private final ArticleSearchIndex articleSearchIndex;
+
+    public List<ArticleImportResult> importBatch(List<ArticleSaveDTO> rows, int firstRow) {
+        Set<String> titles = rows.stream()
+                .map(ArticleSaveDTO::getTitle)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> existingTitles = titles.isEmpty() ? Set.of() : articleRepository.findExistingTitles(titles);
+
+        Set<Long> authorIds = rows.stream()
+                .map(ArticleSaveDTO::getAuthorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> authors = userRepository.findAllById(authorIds).stream()
+                .filter(user -> user.getRole() == Role.AUTHOR)
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        ArticleImportResult[] results = new ArticleImportResult[rows.size()];
+        List<Article> accepted = new ArrayList<>();
+        List<Integer> acceptedRows = new ArrayList<>();
+        Set<String> batchTitles = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ArticleSaveDTO row = rows.get(i);
+            String error = validate(row, existingTitles, batchTitles, authors);
+            if (error != null) {
+                results[i] = ArticleImportResult.rejected(firstRow + i, row.getTitle(), error);
+                continue;
+            }
+            accepted.add(toArticle(row, authors));
+            acceptedRows.add(i);
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                articleRepository.insertAll(accepted);
+                for (int a = 0; a < accepted.size(); a++) {
+                    Article article = accepted.get(a);
+                    int i = acceptedRows.get(a);
+                    results[i] = ArticleImportResult.imported(firstRow + i, article.getTitle(), article.getId());
+                    articleSearchIndex.index(article);
+                }
+            } catch (DataAccessException | ConstraintViolationException e) {
+                // typically a title taken by a concurrent write; find the offending rows instead of failing them all
+                log.warn("Article import batch starting at row {} was rejected, retrying row by row: {}", firstRow, e.getMessage());
+                for (int i : acceptedRows) {
+                    results[i] = importOne(rows.get(i), firstRow + i, authors);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private ArticleImportResult importOne(ArticleSaveDTO row, int rowNumber, Map<Long, User> authors) {
+        // a fresh entity: the ones from the failed batch may already hold ids from the rolled back transaction
+        Article article = toArticle(row, authors);
+        try {
+            articleRepository.insertAll(List.of(article));
+        } catch (DataAccessException e) {
+            return ArticleImportResult.rejected(rowNumber, row.getTitle(),
+                    "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+        } catch (ConstraintViolationException e) {
+            return ArticleImportResult.rejected(rowNumber, row.getTitle(), e.getMessage());
+        }
+        articleSearchIndex.index(article);
+        return ArticleImportResult.imported(rowNumber, article.getTitle(), article.getId());
+    }
+
+    private static Article toArticle(ArticleSaveDTO row, Map<Long, User> authors) {
+        Article article = new Article();
+        article.setTitle(row.getTitle());
+        article.setContent(row.getContent());
+        article.setAuthor(authors.get(row.getAuthorId()));
+        return article;
+    }
+
+    private String validate(ArticleSaveDTO row, Set<String> existingTitles, Set<String> batchTitles, Map<Long, User> authors) {
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        // mirrors @Size on Article.title; a violation at flush time is not a DataAccessException
+        if (row.getTitle().length() < 3) {
+            return new ArticleTitleLengthException().getMessage();
+        }
+        if (row.getContent() == null || row.getContent().length() < 5 || row.getContent().length() > 10) {
+            return new ArticleContentLengthException().getMessage();
+        }
+        if (row.getAuthorId() == null) {
+            return new ArticleRequiredAuthorException().getMessage();
+        }
+        if (!authors.containsKey(row.getAuthorId())) {
+            return new AuthorNotFoundException(row.getAuthorId()).getMessage();
+        }
+        if (existingTitles.contains(row.getTitle()) || !batchTitles.add(row.getTitle())) {
+            return new ArticleDuplicatedTitleException(row.getTitle()).getMessage();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,226 @@
+package com.blog.service;
+
+import com.blog.config.ArticleIngestProperties;
+import com.blog.dto.ArticleSaveDTO;
+import com.blog.exception.ArticleIngestQueueFullException;
+import com.blog.record.ArticleImportResult;
+import com.blog.record.ArticleIngestEntry;
+import com.blog.record.ArticleIngestStatus;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for article creation. Submissions are acknowledged once queued; a single writer
+ * drains them in batches through {@link ArticleBatchImporter}. Articles still queued, or still being
+ * written, when shutdown's drain budget runs out are spooled to a file and replayed on the next start.
+ */
+@Service
+@Slf4j
+public class ArticleIngestQueue implements SmartLifecycle {
+
+    private final ArticleBatchImporter articleBatchImporter;
+    private final ArticleIngestProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, ArticleIngestStatus> statuses;
+
+    private volatile BlockingQueue<ArticleIngestEntry> queue;
+    private volatile boolean running;
+    private volatile long drainDeadline = Long.MAX_VALUE;
+    // the batch the writer has taken off the queue and not finished writing yet
+    private volatile List<ArticleIngestEntry> inFlight = List.of();
+    private Thread writer;
+
+    public ArticleIngestQueue(ArticleBatchImporter articleBatchImporter, ArticleIngestProperties properties,
+                              ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.articleBatchImporter = articleBatchImporter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedStatuses())
+                .expireAfterWrite(properties.getStatusRetention())
+                .build();
+        Gauge.builder("blog.article.ingest.queue", this, q -> q.queue.size())
+                .description("Articles acknowledged but not yet written")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public ArticleIngestStatus submit(ArticleSaveDTO article) {
+        String trackingId = UUID.randomUUID().toString();
+        ArticleIngestStatus status = ArticleIngestStatus.pending(trackingId);
+        statuses.put(trackingId, status);
+        if (!running || !queue.offer(new ArticleIngestEntry(trackingId, article))) {
+            statuses.invalidate(trackingId);
+            log.warn("Article ingest queue full or stopped, refusing {}", article.getTitle());
+            throw new ArticleIngestQueueFullException();
+        }
+        return status;
+    }
+
+    public Optional<ArticleIngestStatus> status(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<ArticleIngestEntry> spooled = readSpool();
+        if (spooled.size() > properties.getQueueCapacity()) {
+            queue = new ArrayBlockingQueue<>(spooled.size());
+        }
+        spooled.forEach(entry -> {
+            statuses.put(entry.trackingId(), ArticleIngestStatus.pending(entry.trackingId()));
+            queue.add(entry);
+        });
+        drainDeadline = Long.MAX_VALUE;
+        running = true;
+        writer = Thread.ofPlatform().name("article-ingest-writer").start(this::drain);
+        log.info("Article ingest queue started, {} spooled articles replayed", spooled.size());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        drainDeadline = System.nanoTime() + properties.getShutdownDrainTimeout().toNanos();
+        try {
+            writer.join(properties.getShutdownDrainTimeout().plusSeconds(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<ArticleIngestEntry> remaining = new ArrayList<>();
+        List<ArticleIngestEntry> unfinished = inFlight;
+        if (writer.isAlive() && !unfinished.isEmpty()) {
+            // may still commit before the pool closes; replaying it then only hits the unique title, never duplicates
+            log.warn("Article ingest writer still busy after the drain timeout, spooling its batch of {}", unfinished.size());
+            remaining.addAll(unfinished);
+        }
+        writer.interrupt();
+        // drainTo removes atomically, so a queued entry is either taken by the writer or spooled, never both
+        queue.drainTo(remaining);
+        writeSpool(remaining);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // starts before and stops after the web server, so no request can enqueue behind the drain
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<ArticleIngestEntry> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || (!queue.isEmpty() && System.nanoTime() < drainDeadline)) {
+            try {
+                ArticleIngestEntry first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                inFlight = List.copyOf(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                inFlight = List.of();
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ArticleIngestEntry> batch) {
+        try {
+            List<ArticleImportResult> results = articleBatchImporter.importBatch(
+                    batch.stream().map(ArticleIngestEntry::article).toList(), 0);
+            int persisted = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                String trackingId = batch.get(i).trackingId();
+                ArticleImportResult result = results.get(i);
+                if (result.error() == null) {
+                    statuses.put(trackingId, ArticleIngestStatus.persisted(trackingId, result.id()));
+                    persisted++;
+                } else {
+                    statuses.put(trackingId, ArticleIngestStatus.rejected(trackingId, result.error()));
+                }
+            }
+            log.info("Article ingest batch written, {} of {} persisted", persisted, batch.size());
+        } catch (RuntimeException e) {
+            log.error("Article ingest batch of {} could not be written", batch.size(), e);
+            batch.forEach(entry -> statuses.put(entry.trackingId(),
+                    ArticleIngestStatus.rejected(entry.trackingId(), "Article could not be written, please resubmit")));
+        }
+    }
+
+    private List<ArticleIngestEntry> readSpool() {
+        Path spool = properties.getSpoolFile();
+        List<ArticleIngestEntry> entries = new ArrayList<>();
+        if (!Files.exists(spool)) {
+            return entries;
+        }
+        try (MappingIterator<ArticleIngestEntry> lines = objectMapper.readerFor(ArticleIngestEntry.class).readValues(spool.toFile())) {
+            lines.forEachRemaining(entries::add);
+            // the entries live in the queue now and are spooled again if still there at the next shutdown
+            Files.delete(spool);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not replay article ingest spool " + spool, e);
+        }
+        return entries;
+    }
+
+    private void writeSpool(List<ArticleIngestEntry> entries) {
+        if (entries.isEmpty()) {
+            log.info("Article ingest queue drained before shutdown");
+            return;
+        }
+        Path spool = properties.getSpoolFile().toAbsolutePath();
+        Path temp = spool.resolveSibling(spool.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(spool.getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(temp)) {
+                for (ArticleIngestEntry entry : entries) {
+                    out.write(objectMapper.writeValueAsString(entry));
+                    out.newLine();
+                }
+            }
+            Files.move(temp, spool, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.warn("Spooled {} queued articles to {} for replay", entries.size(), spool);
+        } catch (IOException e) {
+            log.error("Could not spool {} queued articles, they are lost: {}", entries.size(),
+                    entries.stream().map(ArticleIngestEntry::trackingId).toList(), e);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.blog.service;
+
+import com.blog.config.SearchProperties;
+import com.blog.converter.ArticleMapper;
+import com.blog.dto.ArticleSaveDTO;
+import com.blog.model.Article;
+import com.blog.repository.ArticleRepository;
+import com.blog.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Node-local inverted index over article titles, content and author names.
+ * Postings are sorted arrays of document ordinals; an updated article gets a new
+ * ordinal and its previous one is tombstoned until the next compaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleSearchIndex {
+
+    private static final int BUILD_CHUNK_SIZE = 1_000;
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 1_024;
+
+    private final ArticleRepository articleRepository;
+    private final ArticleMapper articleMapper;
+    private final SearchProperties searchProperties;
+    private final Environment environment;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] ids = new long[1024];
+    private ArticleSaveDTO[] documents = new ArticleSaveDTO[1024];
+    private int nextOrdinal;
+    private volatile boolean ready;
+
+    public boolean isEnabled() {
+        return searchProperties.getEngine() == SearchProperties.Engine.MEMORY;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!isEnabled()) {
+            return;
+        }
+        Thread.ofPlatform().name("article-index-build").daemon().start(this::build);
+    }
+
+    void build() {
+        long start = System.nanoTime();
+        ExecutorService executor = null;
+        try {
+            long maxId = articleRepository.findMaxId();
+            int partitions = Math.max(1, Math.min(searchProperties.getIndexBuildThreads(), (int) Math.ceil(maxId / (double) BUILD_CHUNK_SIZE)));
+            long span = maxId / partitions + 1;
+            log.info("Building article search index up to id {} with {} partitions", maxId, partitions);
+
+            // partitions already bound the concurrency, so virtual mode needs no pool
+            executor = Threading.VIRTUAL.isActive(environment)
+                    ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("article-index-build-", 0).factory())
+                    : Executors.newFixedThreadPool(partitions);
+            List<Future<Integer>> loads = new ArrayList<>();
+            for (int i = 0; i < partitions; i++) {
+                long from = i * span;
+                long to = Math.min(maxId, from + span);
+                loads.add(executor.submit(() -> loadPartition(from, to)));
+            }
+            int loaded = 0;
+            for (Future<Integer> load : loads) {
+                loaded += load.get();
+            }
+            ready = true;
+            log.info("Article search index built with {} articles in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Could not build article search index, searches fall back to the database", e);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private int loadPartition(long fromExclusive, long toInclusive) {
+        int loaded = 0;
+        long afterId = fromExclusive;
+        List<Article> chunk;
+        do {
+            chunk = articleRepository.findIndexChunk(afterId, toInclusive, Limit.of(BUILD_CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            List<ArticleSaveDTO> dtos = chunk.stream().map(articleMapper::toDTO).toList();
+            lock.writeLock().lock();
+            try {
+                for (int i = 0; i < chunk.size(); i++) {
+                    // an article already written by a service hook is newer than this snapshot
+                    if (!ordinals.containsKey(chunk.get(i).getId())) {
+                        add(chunk.get(i).getId(), dtos.get(i));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loaded += chunk.size();
+            afterId = chunk.getLast().getId();
+        } while (chunk.size() == BUILD_CHUNK_SIZE);
+        return loaded;
+    }
+
+    /**
+     * Indexes the current state of the article, after commit when called inside a transaction.
+     */
+    public void index(Article article) {
+        if (!isEnabled() || article.getId() == null) {
+            return;
+        }
+        long id = article.getId();
+        ArticleSaveDTO dto = articleMapper.toDTO(article);
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+                add(id, dto);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Re-indexes the articles of an author whose name changed; a null name means the author was removed.
+     */
+    public void authorChanged(Long authorId, String authorFullName) {
+        if (!isEnabled()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                List<Long> affected = new ArrayList<>();
+                for (int ordinal = deleted.nextClearBit(0); ordinal < nextOrdinal; ordinal = deleted.nextClearBit(ordinal + 1)) {
+                    if (authorId.equals(documents[ordinal].getAuthorId())) {
+                        affected.add(ids[ordinal]);
+                    }
+                }
+                for (Long id : affected) {
+                    ArticleSaveDTO dto = documents[ordinals.get(id)];
+                    ArticleSaveDTO renamed = dto.withAuthor(authorFullName != null ? authorId : null, authorFullName);
+                    remove(id);
+                    add(id, renamed);
+                }
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Answers a term query: terms are AND-ed, {@code OR} separates alternatives.
+     * Returns empty when the index cannot answer and the caller should query the database.
+     */
+    public Optional<Page<ArticleSaveDTO>> search(String criteria, Pageable pageable) {
+        if (!isEnabled() || !ready) {
+            return Optional.empty();
+        }
+        Sort.Order order = sortOrder(pageable);
+        if (order == null) {
+            return Optional.empty();
+        }
+
+        List<List<String>> clauses = parse(criteria);
+        Long numericId = criteria.strip().matches("\\d{1,18}") ? Long.valueOf(criteria.strip()) : null;
+
+        long[] matchedIds;
+        lock.readLock().lock();
+        try {
+            int[] matches = new int[0];
+            for (List<String> clause : clauses) {
+                matches = union(matches, intersect(clause));
+            }
+            if (numericId != null && ordinals.containsKey(numericId)) {
+                matches = union(matches, new int[]{ordinals.get(numericId)});
+            }
+            int live = 0;
+            matchedIds = new long[matches.length];
+            for (int ordinal : matches) {
+                if (!deleted.get(ordinal)) {
+                    matchedIds[live++] = ids[ordinal];
+                }
+            }
+            matchedIds = Arrays.copyOf(matchedIds, live);
+            Arrays.sort(matchedIds);
+
+            int total = matchedIds.length;
+            int from = (int) Math.min(pageable.getOffset(), total);
+            int to = Math.min(from + pageable.getPageSize(), total);
+            List<ArticleSaveDTO> content = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int index = order.isAscending() ? i : total - 1 - i;
+                content.add(documents[ordinals.get(matchedIds[index])]);
+            }
+            return Optional.of(new PageImpl<>(content, pageable, total));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Sort.Order sortOrder(Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            return Sort.Order.asc("id");
+        }
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() == 1 && "id".equals(orders.getFirst().getProperty())) {
+            return orders.getFirst();
+        }
+        return null;
+    }
+
+    private List<List<String>> parse(String criteria) {
+        List<List<String>> clauses = new ArrayList<>();
+        List<String> clause = new ArrayList<>();
+        for (String word : criteria.strip().split("\\s+")) {
+            if ("OR".equals(word)) {
+                if (!clause.isEmpty()) {
+                    clauses.add(clause);
+                }
+                clause = new ArrayList<>();
+            } else if (!"AND".equals(word)) {
+                clause.addAll(tokenize(word));
+            }
+        }
+        if (!clause.isEmpty()) {
+            clauses.add(clause);
+        }
+        return clauses;
+    }
+
+    private int[] intersect(List<String> terms) {
+        List<IntList> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            IntList list = postings.get(term);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] result = Arrays.copyOf(lists.getFirst().values, lists.getFirst().size);
+        int length = result.length;
+        for (int l = 1; l < lists.size() && length > 0; l++) {
+            IntList other = lists.get(l);
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < length; i++) {
+                while (j < other.size && other.values[j] < result[i]) {
+                    j++;
+                }
+                if (j < other.size && other.values[j] == result[i]) {
+                    result[kept++] = result[i];
+                }
+            }
+            length = kept;
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        int[] result = new int[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[k++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[k++] = b[j++];
+            } else {
+                result[k++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[k++] = a[i++];
+        }
+        while (j < b.length) {
+            result[k++] = b[j++];
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private void add(long id, ArticleSaveDTO dto) {
+        int ordinal = nextOrdinal++;
+        if (ordinal == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        ids[ordinal] = id;
+        documents[ordinal] = dto;
+        ordinals.put(id, ordinal);
+        for (String term : terms(dto)) {
+            postings.computeIfAbsent(term, t -> new IntList()).add(ordinal);
+        }
+    }
+
+    private void remove(long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            deleted.set(ordinal);
+            documents[ordinal] = null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        int tombstones = deleted.cardinality();
+        if (tombstones < MIN_TOMBSTONES_BEFORE_COMPACTION || tombstones < ordinals.size()) {
+            return;
+        }
+        long[] liveIds = new long[ordinals.size()];
+        ArticleSaveDTO[] liveDocuments = new ArticleSaveDTO[ordinals.size()];
+        int live = 0;
+        for (int ordinal = deleted.nextClearBit(0); ordinal < nextOrdinal; ordinal = deleted.nextClearBit(ordinal + 1)) {
+            liveIds[live] = ids[ordinal];
+            liveDocuments[live++] = documents[ordinal];
+        }
+        postings.clear();
+        ordinals.clear();
+        deleted.clear();
+        nextOrdinal = 0;
+        ids = new long[Math.max(1024, live * 2)];
+        documents = new ArticleSaveDTO[ids.length];
+        for (int i = 0; i < live; i++) {
+            add(liveIds[i], liveDocuments[i]);
+        }
+        log.info("Compacted article search index, dropped {} tombstones", tombstones);
+    }
+
+    private static Set<String> terms(ArticleSaveDTO dto) {
+        Set<String> terms = new HashSet<>();
+        terms.addAll(tokenize(dto.getTitle()));
+        terms.addAll(tokenize(dto.getContent()));
+        terms.addAll(tokenize(dto.getAuthorFullName()));
+        return terms;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letterOrDigit = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.blog.service;
 
+import com.blog.dto.ArticleFeedResponse;
+import com.blog.dto.ArticleImportReport;
 import com.blog.dto.ArticleSaveDTO;
+import com.blog.record.ArticleIngestStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ArticleService {
@@ -24,16 +30,36 @@ public interface ArticleService {
 
     Long save(ArticleSaveDTO article);
 
-    ArticleSaveDTO update(Long id, ArticleSaveDTO article);
+    ArticleImportReport importArticles(InputStream in) throws IOException;
 
-    String active(Long id, Boolean active);
+    boolean isIngestAsync();
+
+    ArticleIngestStatus enqueue(ArticleSaveDTO article);
+
+    ArticleIngestStatus findIngestStatus(String trackingId);
+
+    ArticleSaveDTO update(Long id, ArticleSaveDTO article, String ifMatch);
+
+    String active(Long id, Boolean active, String ifMatch);
 
     ArticleSaveDTO findById(Long id);
 
+    String findETag(Long id);
+
+    void recordView(Long id);
+
+    List<ArticleSaveDTO> findTrending(int limit);
+
+    String findPageETag(Pageable pageable);
+
     List<ArticleSaveDTO> findAll();
 
+    long exportAll(OutputStream out) throws IOException;
+
     Page<ArticleSaveDTO> findAllPagination(Pageable pageable);
 
+    ArticleFeedResponse findFeed(String after, int size);
+
     ArticleSaveDTO assignAuthor(Long articleId, Long authorId);
 
 /*
@@ -1,22 +1,48 @@
 package com.blog.service;
 
+import com.blog.config.ArticleExportProperties;
+import com.blog.config.ArticleImportProperties;
+import com.blog.config.SearchProperties;
 import com.blog.converter.ArticleMapper;
+import com.blog.dto.ArticleFeedResponse;
+import com.blog.dto.ArticleImportReport;
 import com.blog.dto.ArticleSaveDTO;
 import com.blog.exception.*;
 import com.blog.model.Article;
 import com.blog.model.User;
 import com.blog.model.enums.Role;
+import com.blog.record.ArticleFeedCursor;
+import com.blog.record.ArticleImportResult;
+import com.blog.record.ArticleIngestStatus;
+import com.blog.record.VersionStamp;
 import com.blog.repository.ArticleRepository;
 import com.blog.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 
 @Service
@@ -24,9 +50,21 @@ import java.util.Optional;
 @Slf4j
 public class ArticleServiceImpl implements ArticleService {
 
+    private static final int MAX_FEED_SIZE = 100;
+
     private final ArticleRepository articleRepository;
     private final ArticleMapper articleMapper;
     private final UserRepository userRepository;
+    private final SearchProperties searchProperties;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleExportProperties articleExportProperties;
+    private final ObjectMapper objectMapper;
+    private final ArticleImportProperties articleImportProperties;
+    private final ArticleBatchImporter articleBatchImporter;
+    private final ArticleIngestQueue articleIngestQueue;
+    private final ArticleViewCounter articleViewCounter;
+    private final ArticleTrendingRanking articleTrendingRanking;
+    private final MeterRegistry meterRegistry;
 
 
 /*    @Override
@@ -72,14 +110,45 @@ public class ArticleServiceImpl implements ArticleService {
         Article savedArticle = articleMapper.toEntity(article);
         savedArticle.setAuthor(author);
         Long id = articleRepository.save(savedArticle).getId();
+        articleSearchIndex.index(savedArticle);
         log.info("Article {} saved successfully with id {}", article.getTitle(), id);
         return id;
 
     }
 
+    @Override
+    public boolean isIngestAsync() {
+        return articleIngestQueue.isEnabled();
+    }
+
+    @Override
+    public ArticleIngestStatus enqueue(ArticleSaveDTO article) {
+        log.info("Queueing article with title {}", article.getTitle());
+        // checks that need no query; uniqueness and the author are checked per batch by the writer
+        if(article.getContent() == null || article.getContent().length() < 5 || article.getContent().length() > 10 ) {
+            log.warn("Article content length invalid for title {}", article.getTitle());
+            throw new ArticleContentLengthException();
+        }
+        if(article.getAuthorId() == null) {
+            log.warn("Author is required when queueing article {}", article.getTitle());
+            throw new ArticleRequiredAuthorException();
+        }
+        ArticleIngestStatus status = articleIngestQueue.submit(article);
+        log.info("Article {} queued with tracking id {}", article.getTitle(), status.trackingId());
+        return status;
+    }
+
+    @Override
+    public ArticleIngestStatus findIngestStatus(String trackingId) {
+        return articleIngestQueue.status(trackingId).orElseThrow(() -> {
+            log.warn("No article submission with tracking id {}", trackingId);
+            return new ArticleIngestNotFoundException(trackingId);
+        });
+    }
+
     @Transactional
     @Override
-    public ArticleSaveDTO update(Long id, ArticleSaveDTO articleDTO) {
+    public ArticleSaveDTO update(Long id, ArticleSaveDTO articleDTO, String ifMatch) {
 
         log.info("Attempting to update article {}", id);
         Optional<Article> article = articleRepository.findById(id);
@@ -87,12 +156,18 @@ public class ArticleServiceImpl implements ArticleService {
         if(article.isPresent()) {
             Article art = article.get();
 
+            if (!versionStamp(art).matches(ifMatch)) {
+                log.warn("If-Match {} does not match article {}", ifMatch, id);
+                throw new ArticleVersionConflictException(id);
+            }
+
             if(articleDTO.getContent().length() < 5 || articleDTO.getContent().length() > 10 ) {
                 log.warn("Article content length invalid for update on article {}", id);
                 throw new ArticleContentLengthException();
             }
 
             articleMapper.updateArticleFromDTO(art, articleDTO);
+            articleSearchIndex.index(art);
             log.info("Article {} updated successfully", id);
             return articleMapper.toDTO(art);
         }
@@ -117,23 +192,69 @@ public class ArticleServiceImpl implements ArticleService {
         throw new IllegalArgumentException("Article not found with id: "+id);
     }*/
 
+    @Transactional
     @Override
-    public String active(Long id, Boolean active) {
+    public String active(Long id, Boolean active, String ifMatch) {
         log.info("Updating active state for article {} to {}", id, active);
-        Optional<Article> article = articleRepository.findById(id);
-        if(article.isPresent()) {
-            Article art = article.get();
-            if(art.getIsActive().equals(active)) {
-                log.warn("Active state for article {} already {}", id, active);
-                throw new ArticleStateAlreadySetException(id, active);
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            // same full-tag comparison as update, so both accept exactly the ETags GET handed out
+            VersionStamp stamp = articleRepository.findVersionStampById(id).orElseThrow(() -> {
+                log.warn("Article {} not found when updating active state", id);
+                return new ArticleNotFoundException(id);
+            });
+            if (!stamp.matches(ifMatch)) {
+                log.warn("If-Match {} does not match article {}", ifMatch, id);
+                throw new ArticleVersionConflictException(id);
             }
-            art.setIsActive(active);
-            articleRepository.save(art);
+            expectedVersion = stamp.version();
+        }
+        if (articleRepository.updateActive(id, active, expectedVersion, new Date()) == 1) {
             log.info("Active state for article {} updated to {}", id, active);
             return "Article " + (active ? "activated" : "deactivated") + " successfully.";
         }
-        log.warn("Article {} not found when updating active state", id);
-        throw new ArticleNotFoundException(id);
+
+        Article art = articleRepository.findById(id).orElseThrow(() -> {
+            log.warn("Article {} not found when updating active state", id);
+            return new ArticleNotFoundException(id);
+        });
+        if (expectedVersion != null && !expectedVersion.equals(art.getVersion())) {
+            log.warn("Article {} changed after If-Match {} was checked", id, ifMatch);
+            throw new ArticleVersionConflictException(id);
+        }
+        log.warn("Active state for article {} already {}", id, active);
+        throw new ArticleStateAlreadySetException(id, active);
+    }
+
+    @Override
+    public String findETag(Long id) {
+        return articleRepository.findVersionStampById(id)
+                .map(VersionStamp::toWeakETag)
+                .orElseThrow(() -> {
+                    log.warn("Article {} not found when computing its ETag", id);
+                    return new ArticleNotFoundException(id);
+                });
+    }
+
+    @Override
+    public void recordView(Long id) {
+        articleViewCounter.increment(id);
+    }
+
+    @Override
+    public List<ArticleSaveDTO> findTrending(int limit) {
+        log.info("Fetching top {} trending articles", limit);
+        return articleTrendingRanking.top(limit);
+    }
+
+    private static VersionStamp versionStamp(Article article) {
+        User author = article.getAuthor();
+        return new VersionStamp(article.getVersion(), author != null ? author.getVersion() : null);
+    }
+
+    @Override
+    public String findPageETag(Pageable pageable) {
+        return articleRepository.findStamp().toETag("articles:" + pageable);
     }
 
     @Override
@@ -142,7 +263,9 @@ public class ArticleServiceImpl implements ArticleService {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new ArticleNotFoundException(id));
         log.info("Article {} fetched successfully", id);
-        return articleMapper.toDTO(article);
+        ArticleSaveDTO dto = articleMapper.toDTO(article);
+        dto.setViewCount(articleRepository.findViewsById(id).orElse(0L) + articleViewCounter.unflushed(id));
+        return dto;
 
 
 /*        Optional<Article> article = articleRepository.findById(id);
@@ -155,21 +278,141 @@ public class ArticleServiceImpl implements ArticleService {
     @Override
     public List<ArticleSaveDTO> findAll() {
         log.info("Fetching all articles");
-        List<Article> articles = articleRepository.findAll();
+        List<ArticleSaveDTO> articles = articleRepository.findAllAsDTO();
         log.info("Retrieved {} articles", articles.size());
-        return articles.stream().map(articleMapper::toDTO).toList();
+        return articles;
+    }
+
+    // no transaction here: every batch commits on its own so a failing batch cannot roll back the others
+    @Override
+    public ArticleImportReport importArticles(InputStream in) throws IOException {
+        int batchSize = articleImportProperties.getBatchSize();
+        log.info("Importing articles in batches of {}", batchSize);
+        List<ArticleImportResult> errors = new ArrayList<>();
+        List<ArticleSaveDTO> batch = new ArrayList<>(batchSize);
+        int received = 0;
+        int imported = 0;
+        int firstRow = 1;
+        // a JSON array and newline-delimited objects both read as a sequence of root values
+        try (MappingIterator<ArticleSaveDTO> rows = objectMapper.readerFor(ArticleSaveDTO.class).readValues(in)) {
+            while (true) {
+                ArticleSaveDTO row;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    log.warn("Malformed article at row {}, stopping import", received + 1);
+                    errors.add(ArticleImportResult.rejected(received + 1, null, "Malformed JSON: " + e.getOriginalMessage()));
+                    received++;
+                    break;
+                }
+                received++;
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    imported += importBatch(batch, firstRow, errors);
+                    firstRow = received + 1;
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += importBatch(batch, firstRow, errors);
+        }
+        log.info("Imported {} of {} articles", imported, received);
+        return new ArticleImportReport(received, imported, errors);
+    }
+
+    private int importBatch(List<ArticleSaveDTO> batch, int firstRow, List<ArticleImportResult> errors) {
+        int imported = 0;
+        for (ArticleImportResult result : articleBatchImporter.importBatch(batch, firstRow)) {
+            if (result.error() == null) {
+                imported++;
+            } else {
+                errors.add(result);
+            }
+        }
+        return imported;
+    }
+
+    // the cursor only honours the fetch size inside a transaction; in autocommit the driver buffers every row
+    @Transactional
+    @Override
+    public long exportAll(OutputStream out) throws IOException {
+        log.info("Exporting all articles with fetch size {}", articleExportProperties.getFetchSize());
+        ObjectWriter writer = objectMapper.writerFor(ArticleSaveDTO.class);
+        long exported = 0;
+        try (Stream<ArticleSaveDTO> articles = articleRepository.streamAllAsDTO(articleExportProperties.getFetchSize());
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            Iterator<ArticleSaveDTO> iterator = articles.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                exported++;
+            }
+        }
+        log.info("Exported {} articles", exported);
+        return exported;
     }
 
     @Override
     public Page<ArticleSaveDTO> findAllPagination(Pageable pageable) {
         log.info("Fetching paginated articles page={} size={}", pageable.getPageNumber(), pageable.getPageSize());
-        return articleRepository.findAll(pageable).map(articleMapper::toDTO);
+        return articleRepository.findAllAsDTO(pageable);
+    }
+
+    @Override
+    public ArticleFeedResponse findFeed(String after, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+        log.info("Fetching article feed after={} size={}", after, pageSize);
+        // one extra row tells us whether a next page exists without a COUNT(*)
+        Limit limit = Limit.of(pageSize + 1);
+        List<Article> articles;
+        if (after == null || after.isBlank()) {
+            articles = articleRepository.findFeedFirstPage(limit);
+        } else {
+            ArticleFeedCursor cursor = ArticleFeedCursor.decode(after);
+            articles = articleRepository.findFeedAfter(cursor.createdAt(), cursor.id(), limit);
+        }
+
+        boolean hasNext = articles.size() > pageSize;
+        List<Article> page = hasNext ? articles.subList(0, pageSize) : articles;
+        String nextCursor = hasNext ? ArticleFeedCursor.of(page.getLast()).encode() : null;
+        log.info("Returning {} feed articles, hasNext={}", page.size(), hasNext);
+        return new ArticleFeedResponse(page.stream().map(articleMapper::toDTO).toList(), nextCursor);
     }
 
     @Override
     public Page<ArticleSaveDTO> findAllPaginationWithSearch(String criteria, Pageable pageable) {
         log.info("Fetching paginated articles with search criteria={} page={} size={}", criteria, pageable.getPageNumber(), pageable.getPageSize());
-        return articleRepository.findAllWithSearch(criteria, pageable).map(articleMapper::toDTO);
+        if (criteria != null && !criteria.isBlank() && searchProperties.getEngine() == SearchProperties.Engine.FULLTEXT) {
+            return timedSearch("fulltext", () -> findAllWithFullTextSearch(criteria.trim(), pageable));
+        }
+        if (criteria != null && !criteria.isBlank() && searchProperties.getEngine() == SearchProperties.Engine.MEMORY) {
+            Optional<Page<ArticleSaveDTO>> indexed = timedSearch("memory", () -> articleSearchIndex.search(criteria, pageable));
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+            log.info("Article search index cannot answer criteria={}, falling back to database", criteria);
+        }
+        return timedSearch("database", () -> articleRepository.findAllWithSearch(criteria, pageable));
+    }
+
+    private <T> T timedSearch(String engine, Supplier<T> search) {
+        return Timer.builder("blog.article.search")
+                .description("Time spent answering an article page or search, by the engine that answered it")
+                .tag("engine", engine)
+                .register(meterRegistry)
+                .record(search);
+    }
+
+    private Page<ArticleSaveDTO> findAllWithFullTextSearch(String criteria, Pageable pageable) {
+        Long id = criteria.matches("\\d{1,18}") ? Long.valueOf(criteria) : null;
+        // results are ordered by relevance, the requested sort does not apply
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return articleRepository.findAllWithFullTextSearch(criteria, id, unsorted).map(articleMapper::toDTO);
     }
 
     @Override
@@ -192,6 +435,7 @@ public class ArticleServiceImpl implements ArticleService {
 
         article.setAuthor(author);
         ArticleSaveDTO dto = articleMapper.toDTO(articleRepository.save(article));
+        articleSearchIndex.index(article);
         log.info("Author {} assigned to article {}", authorId, articleId);
         return dto;
 
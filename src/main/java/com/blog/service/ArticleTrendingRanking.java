@@ -0,0 +1,151 @@
+package com.blog.service;
+
+import com.blog.config.TrendingProperties;
+import com.blog.converter.ArticleMapper;
+import com.blog.dto.ArticleSaveDTO;
+import com.blog.model.Article;
+import com.blog.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Leaderboard of the most read articles with exponentially decayed scores. Scores use forward decay:
+ * a read at time t adds e^(λ(t - landmark)) instead of every score shrinking over time, so a score only
+ * changes when its article is read and the order of stored scores is the order of decayed scores.
+ * Reads arrive from {@link ArticleViewCounter} once per flush, already summed per article, so the
+ * request path never touches the ranking; the top {@code size} articles are kept in a tree.
+ */
+@Component
+@Slf4j
+public class ArticleTrendingRanking {
+
+    // rescale before e^(λ·age) loses precision; scores below the floor are then forgotten
+    private static final double RESCALE_EXPONENT = 30;
+    private static final double FORGET_BELOW = 1e-3;
+
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score)
+            .thenComparingLong(Ranked::id);
+
+    private record Ranked(long id, double score) {
+    }
+
+    private final TrendingProperties properties;
+    private final ArticleRepository articleRepository;
+    private final ArticleMapper articleMapper;
+    private final double lambda;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final TreeSet<Ranked> top = new TreeSet<>(ORDER);
+    private final LongSupplier clock;
+    private long landmark;
+
+    private volatile List<ArticleSaveDTO> snapshot = List.of();
+
+    @Autowired
+    public ArticleTrendingRanking(TrendingProperties properties, ArticleRepository articleRepository,
+                                  ArticleMapper articleMapper) {
+        this(properties, articleRepository, articleMapper, System::currentTimeMillis);
+    }
+
+    ArticleTrendingRanking(TrendingProperties properties, ArticleRepository articleRepository,
+                           ArticleMapper articleMapper, LongSupplier clock) {
+        this.properties = properties;
+        this.articleRepository = articleRepository;
+        this.articleMapper = articleMapper;
+        this.lambda = Math.log(2) / properties.getHalfLife().toMillis();
+        this.clock = clock;
+        this.landmark = clock.getAsLong();
+    }
+
+    /**
+     * @param views reads per article since the previous call, all weighted as happening now
+     */
+    public void record(Map<Long, Long> views) {
+        if (!properties.isEnabled() || views.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            double weight = Math.exp(lambda * (clock.getAsLong() - landmark));
+            views.forEach((articleId, count) -> {
+                Double previous = scores.get(articleId);
+                double score = (previous != null ? previous : 0) + count * weight;
+                scores.put(articleId, score);
+                if (previous != null && top.remove(new Ranked(articleId, previous))) {
+                    top.add(new Ranked(articleId, score));
+                } else if (top.size() < properties.getSize() || score > top.first().score()) {
+                    top.add(new Ranked(articleId, score));
+                    if (top.size() > properties.getSize()) {
+                        top.pollFirst();
+                    }
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Most read articles first, as of the last refresh.
+     */
+    public List<ArticleSaveDTO> top(int limit) {
+        List<ArticleSaveDTO> current = snapshot;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${blog.trending.refresh-interval:PT5S}")
+    public void refresh() {
+        List<Long> ranked = new ArrayList<>(top.size());
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            if (lambda * (now - landmark) > RESCALE_EXPONENT) {
+                rescale(now);
+            }
+            for (Iterator<Ranked> it = top.descendingIterator(); it.hasNext(); ) {
+                ranked.add(it.next().id());
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (ranked.isEmpty()) {
+            snapshot = List.of();
+            return;
+        }
+        // one query for the whole board, so titles, authors and counts are never older than a refresh
+        Map<Long, ArticleSaveDTO> articles = articleRepository.findAllWithAuthorByIdIn(ranked).stream()
+                .collect(Collectors.toMap(Article::getId, articleMapper::toDTO));
+        snapshot = ranked.stream()
+                .map(articles::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void rescale(long now) {
+        double factor = Math.exp(-lambda * (now - landmark));
+        scores.replaceAll((id, score) -> score * factor);
+        scores.values().removeIf(score -> score < FORGET_BELOW);
+        List<Ranked> rescaled = top.stream()
+                .filter(ranked -> scores.containsKey(ranked.id()))
+                .map(ranked -> new Ranked(ranked.id(), scores.get(ranked.id())))
+                .toList();
+        top.clear();
+        top.addAll(rescaled);
+        landmark = now;
+        log.info("Trending scores rescaled, {} articles still tracked", scores.size());
+    }
+}
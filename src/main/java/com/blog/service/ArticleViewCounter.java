@@ -0,0 +1,122 @@
+package com.blog.service;
+
+import com.blog.config.ArticleViewProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Counts article reads in memory and adds them to {@code article.views} in one batched statement per
+ * flush, so concurrent readers of a popular article never contend on its row. Each flush also feeds
+ * the trending ranking, which therefore counts exactly the reads counted here. The cached article
+ * entities are left alone: their {@code views} goes stale, and reads that show the count fetch it
+ * separately.
+ */
+@Component
+@Slf4j
+public class ArticleViewCounter {
+
+    private static final String FLUSH_SQL = "UPDATE article SET views = views + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArticleTrendingRanking articleTrendingRanking;
+    private final boolean enabled;
+    private final Map<Long, Counter> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ArticleViewCounter(JdbcTemplate jdbcTemplate, ArticleTrendingRanking articleTrendingRanking,
+                              ArticleViewProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.articleTrendingRanking = articleTrendingRanking;
+        this.enabled = properties.isEnabled();
+    }
+
+    public void increment(Long articleId) {
+        if (enabled) {
+            add(articleId, 1);
+        }
+    }
+
+    /**
+     * A counter retired by the flush may still be incremented by a thread that fetched it just before.
+     * Such a thread sees the flag afterwards and moves whatever the flush did not collect to a live
+     * counter; sumThenReset hands every view to exactly one collector.
+     */
+    private void add(Long articleId, long views) {
+        while (views > 0) {
+            Counter counter = pending.computeIfAbsent(articleId, id -> new Counter());
+            counter.views.add(views);
+            if (!counter.retired) {
+                return;
+            }
+            views = counter.views.sumThenReset();
+        }
+    }
+
+    /**
+     * Views counted here but not yet flushed.
+     */
+    public long unflushed(Long articleId) {
+        Counter counter = pending.get(articleId);
+        return counter != null ? counter.views.sum() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval:PT5S}", initialDelayString = "${blog.views.flush-interval:PT5S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Object[]> deltas = new ArrayList<>();
+            for (Map.Entry<Long, Counter> entry : pending.entrySet()) {
+                Counter counter = entry.getValue();
+                long delta = counter.views.sumThenReset();
+                if (delta > 0) {
+                    deltas.add(new Object[]{delta, entry.getKey()});
+                } else {
+                    // idle for a whole interval; retire before removing so late increments notice
+                    counter.retired = true;
+                    pending.remove(entry.getKey(), counter);
+                    add(entry.getKey(), counter.views.sumThenReset());
+                }
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, deltas);
+            } catch (DataAccessException e) {
+                log.warn("Could not flush views of {} articles, retrying next interval", deltas.size(), e);
+                deltas.forEach(delta -> add((Long) delta[1], (Long) delta[0]));
+                return;
+            }
+            // after the write, so a failed flush retried next interval is not ranked twice
+            articleTrendingRanking.record(deltas.stream()
+                    .collect(Collectors.toMap(delta -> (Long) delta[1], delta -> (Long) delta[0])));
+            log.debug("Flushed views of {} articles", deltas.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        log.info("Flushing article views before shutdown");
+        flush();
+    }
+
+    private static final class Counter {
+
+        private final LongAdder views = new LongAdder();
+        private volatile boolean retired;
+    }
+}
@@ -1,5 +1,6 @@
 package com.blog.service;
 
+import com.blog.dto.AuthResponse;
 import com.blog.dto.LoginRequest;
 import com.blog.dto.RegisterRequest;
 import com.blog.record.AuthenticationResult;
@@ -9,4 +10,10 @@ public interface AuthService {
     AuthenticationResult registre(RegisterRequest registerRequest);
 
     AuthenticationResult login(LoginRequest loginRequest);
+
+    AuthResponse currentUser(Long id);
+
+    AuthenticationResult refresh(String refreshToken);
+
+    void logout(String token, String refreshToken);
 }
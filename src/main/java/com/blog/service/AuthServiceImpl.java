@@ -1,13 +1,16 @@
 package com.blog.service;
 
 import com.blog.config.JwtService;
+import com.blog.config.TokenRevocationService;
 import com.blog.dto.AuthResponse;
 import com.blog.dto.LoginRequest;
 import com.blog.dto.RegisterRequest;
 import com.blog.exception.UserDuplicateEmailException;
+import com.blog.exception.UserNotFoundException;
 import com.blog.model.User;
 import com.blog.model.enums.Role;
 import com.blog.record.AuthenticationResult;
+import com.blog.record.RefreshTokenRotation;
 import com.blog.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +29,9 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public AuthenticationResult registre(RegisterRequest registerRequest) {
@@ -46,9 +52,11 @@ public class AuthServiceImpl implements AuthService {
                 .domain(registerRequest.getDomain())
                 .build();
         User saved = userRepository.save(user);
+        userDetailsCache.evict(saved.getEmail());
         String token = jwtService.generateToken(saved);
+        String refreshToken = refreshTokenService.issue(saved);
         log.info("User {}  registered successfully", saved.getEmail());
-        return new AuthenticationResult(toAuthResponse(saved), token);
+        return new AuthenticationResult(toAuthResponse(saved), token, refreshToken);
     }
 
     @Override
@@ -58,10 +66,39 @@ public class AuthServiceImpl implements AuthService {
                 .authenticate(new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
         User user = (User) authentication.getPrincipal();
         String token = jwtService.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user);
         log.info("User {}  authenticated successfully", user.getEmail());
-        return new AuthenticationResult(toAuthResponse(user), token);
+        return new AuthenticationResult(toAuthResponse(user), token, refreshToken);
     }
 
+    @Override
+    public AuthenticationResult refresh(String refreshToken) {
+        log.info("Attempting to refresh access token");
+        RefreshTokenRotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = rotation.user();
+        String token = jwtService.generateToken(user);
+        log.info("User {} refreshed access token successfully", user.getEmail());
+        return new AuthenticationResult(toAuthResponse(user), token, rotation.refreshToken());
+    }
+
+    @Override
+    public void logout(String token, String refreshToken) {
+        if (token != null) {
+            log.info("Revoking token on logout");
+            tokenRevocationService.revoke(token);
+        }
+        if (refreshToken != null) {
+            refreshTokenService.revokeFamily(refreshToken);
+        }
+    }
+
+    @Override
+    public AuthResponse currentUser(Long id) {
+        log.info("Fetching current user {}", id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+        return toAuthResponse(user);
+    }
 
     private AuthResponse toAuthResponse(User user){
         return AuthResponse.builder()
@@ -12,12 +12,14 @@ public interface AuthorService {
 
     void delete(Long id);
 
-    UserSaveDTO update(Long id, UserSaveDTO author);
+    UserSaveDTO update(Long id, UserSaveDTO author, String ifMatch);
 
-    String active(Long id, Boolean active);
+    String active(Long id, Boolean active, String ifMatch);
 
     UserSaveDTO findById(Long id);
 
+    String findETag(Long id);
+
     List<UserSaveDTO> findAll();
 
     Page<UserSaveDTO> findAllPagination(Pageable pageable);
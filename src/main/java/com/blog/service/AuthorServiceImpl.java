@@ -1,18 +1,20 @@
 package com.blog.service;
 
+import com.blog.config.TokenVersionRegistry;
 import com.blog.dto.UserSaveDTO;
 import com.blog.exception.AuthorActiveFlagRequiredException;
 import com.blog.exception.AuthorDuplicateEmailException;
 import com.blog.exception.AuthorNotFoundException;
 import com.blog.exception.AuthorPasswordRequiredException;
+import com.blog.exception.AuthorVersionConflictException;
 import com.blog.model.User;
 import com.blog.model.enums.Role;
+import com.blog.record.VersionStamp;
 import com.blog.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -26,6 +28,9 @@ public class AuthorServiceImpl implements AuthorService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public Long save(UserSaveDTO author) {
@@ -58,21 +63,35 @@ public class AuthorServiceImpl implements AuthorService {
     @Override
     public void delete(Long id) {
         log.info("Attempting to delete author {}", id);
-        if(!userRepository.existsById(id)) {
-            log.warn("Author {} not found for deletion", id);
-            throw new AuthorNotFoundException(id);
-        }
-        userRepository.deleteById(id);
+        User author = userRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Author {} not found for deletion", id);
+                    return new AuthorNotFoundException(id);
+                });
+        userRepository.delete(author);
+        userDetailsCache.evict(author.getEmail());
+        articleSearchIndex.authorChanged(id, null);
+        tokenVersionRegistry.removed(id);
         log.info("Author {} deleted successfully", id);
     }
 
     @Transactional
     @Override
-    public UserSaveDTO update(Long id, UserSaveDTO authorDTO) {
+    public UserSaveDTO update(Long id, UserSaveDTO authorDTO, String ifMatch) {
         log.info("Attempting to update author {}", id);
         User author = userRepository.findById(id)
                 .orElseThrow(() -> new AuthorNotFoundException(id));
 
+        if (!new VersionStamp(author.getVersion()).matches(ifMatch)) {
+            log.warn("If-Match {} does not match author {}", ifMatch, id);
+            throw new AuthorVersionConflictException(id);
+        }
+
+        String previousEmail = author.getEmail();
+        boolean credentialsChanged = (authorDTO.getEmail() != null && !authorDTO.getEmail().equals(author.getEmail()))
+                || (authorDTO.getPassword() != null && !authorDTO.getPassword().isBlank())
+                || (authorDTO.getActive() != null && !authorDTO.getActive().equals(author.getIsActive()));
+
         if (authorDTO.getEmail() != null && !authorDTO.getEmail().equalsIgnoreCase(author.getEmail())
                 && userRepository.existsByEmail(authorDTO.getEmail())) {
             log.warn("Duplicate email {} detected during update for author {}", authorDTO.getEmail(), id);
@@ -101,13 +120,20 @@ public class AuthorServiceImpl implements AuthorService {
             author.setDomain(authorDTO.getDomain());
         }
 
+        if (credentialsChanged) {
+            tokenVersionRegistry.bump(author);
+        }
+        userDetailsCache.evict(previousEmail);
         User savedUser = userRepository.save(author);
+        if (authorDTO.getFirstName() != null || authorDTO.getLastName() != null) {
+            articleSearchIndex.authorChanged(id, savedUser.getFirstName() + " " + savedUser.getLastName());
+        }
         log.info("Author {} updated successfully", id);
         return toDTO(savedUser);
     }
 
     @Override
-    public String active(Long id, Boolean active) {
+    public String active(Long id, Boolean active, String ifMatch) {
         log.info("Updating active state for author {} to {}", id, active);
         if (active == null) {
             log.warn("Active flag required when updating author {}", id);
@@ -117,17 +143,34 @@ public class AuthorServiceImpl implements AuthorService {
         User author = userRepository.findById(id)
                 .orElseThrow(() -> new AuthorNotFoundException(id));
 
+        if (!new VersionStamp(author.getVersion()).matches(ifMatch)) {
+            log.warn("If-Match {} does not match author {}", ifMatch, id);
+            throw new AuthorVersionConflictException(id);
+        }
+
         if (active.equals(author.getIsActive())) {
             log.warn("Active state already {} for author {}", active, id);
             return "Author already " + (active ? "active" : "deactivated");
         }
 
         author.setIsActive(active);
+        tokenVersionRegistry.bump(author);
         userRepository.save(author);
+        userDetailsCache.evict(author.getEmail());
         log.info("Author {} active state updated to {}", id, active);
         return "Author " + (active ? "activated" : "deactivated") + " successfully.";
     }
 
+    @Override
+    public String findETag(Long id) {
+        return userRepository.findVersionStampById(id)
+                .map(VersionStamp::toETag)
+                .orElseThrow(() -> {
+                    log.warn("Author {} not found when computing its ETag", id);
+                    return new AuthorNotFoundException(id);
+                });
+    }
+
     @Override
     public UserSaveDTO findById(Long id) {
         log.info("Fetching author {}", id);
@@ -156,26 +199,13 @@ public class AuthorServiceImpl implements AuthorService {
     @Override
     public Page<UserSaveDTO> findAllPaginationWithSearch(String criteria, Pageable pageable) {
         log.info("Fetching paginated authors with search criteria={} page={} size={}", criteria, pageable.getPageNumber(), pageable.getPageSize());
-        Page<User> users = userRepository.findByRole(Role.AUTHOR, pageable);
         if (criteria == null || criteria.isBlank()) {
-            return users.map(this::toDTO);
+            return userRepository.findByRole(Role.AUTHOR, pageable).map(this::toDTO);
         }
-
-        String filter = criteria.toLowerCase();
-        List<User> filtered = users.stream()
-                .filter(user -> userFilter(user, filter))
-                .toList();
-        List<UserSaveDTO> dtos = filtered.stream().map(this::toDTO).toList();
-        return new PageImpl<>(dtos, pageable, dtos.size());
-    }
-
-    private boolean userFilter(User user, String filter){
-        return (user.getFirstName() != null && user.getFirstName().toLowerCase().contains(filter)
-        || user.getLastName() != null && user.getLastName().toLowerCase().contains(filter)
-        || user.getEmail() != null && user.getEmail().toLowerCase().contains(filter)
-        || user.getBiography() != null && user.getBiography().toLowerCase().contains(filter)
-        || user.getDomain() != null && user.getDomain().name().toLowerCase().contains(filter)
-        );
+        String filter = criteria.strip();
+        return userRepository.searchByRole(Role.AUTHOR, UserRepository.containsPattern(filter),
+                        UserRepository.domainsContaining(filter), pageable)
+                .map(this::toDTO);
     }
 
     private  UserSaveDTO  toDTO(User author) {
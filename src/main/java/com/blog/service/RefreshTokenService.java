@@ -0,0 +1,108 @@
+package com.blog.service;
+
+import com.blog.config.JwtProperties;
+import com.blog.exception.RefreshTokenInvalidException;
+import com.blog.model.RefreshToken;
+import com.blog.model.User;
+import com.blog.record.RefreshTokenRotation;
+import com.blog.repository.RefreshTokenRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. Each refresh consumes the presented token and hands out a new
+ * one in the same family; presenting an already consumed token revokes the whole family.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtProperties jwtProperties;
+
+    @Transactional
+    public String issue(User user) {
+        log.info("Issuing refresh token for user {}", user.getId());
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    @Transactional(dontRollbackOn = RefreshTokenInvalidException.class)
+    public RefreshTokenRotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> {
+                    log.warn("Unknown refresh token presented");
+                    return new RefreshTokenInvalidException();
+                });
+        User user = current.getUser();
+        Date now = new Date();
+
+        if (refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            log.warn("Refresh token reuse detected for user {}, revoking family {}", user.getId(), current.getFamilyId());
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            throw new RefreshTokenInvalidException();
+        }
+        if (current.getExpiresAt().before(now) || !user.isEnabled() || current.getTokenVersion() != user.getTokenVersion()) {
+            log.warn("Refresh token of user {} is expired or outdated, revoking family {}", user.getId(), current.getFamilyId());
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            throw new RefreshTokenInvalidException();
+        }
+
+        log.info("Rotating refresh token for user {}", user.getId());
+        return new RefreshTokenRotation(user, create(user, current.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeFamily(String rawToken) {
+        refreshTokenRepository.findFamilyIdByTokenHash(hash(rawToken)).ifPresent(familyId -> {
+            log.info("Revoking refresh token family {}", familyId);
+            refreshTokenRepository.deleteByFamilyId(familyId);
+        });
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(new Date());
+        log.info("Purged {} expired refresh tokens", purged);
+    }
+
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUser(user);
+        token.setTokenVersion(user.getTokenVersion());
+        token.setExpiresAt(Date.from(Instant.now().plus(jwtProperties.getRefreshExpirationDays(), ChronoUnit.DAYS)));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
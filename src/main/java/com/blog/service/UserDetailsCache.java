@@ -0,0 +1,100 @@
+package com.blog.service;
+
+import com.blog.config.UserDetailsCacheProperties;
+import com.blog.model.User;
+import com.blog.model.enums.Domain;
+import com.blog.model.enums.Role;
+import com.blog.util.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Users loaded for authentication, keyed by email. Entries are immutable snapshots and every read
+ * gets its own detached {@link User}, so callers can never change what other requests see.
+ * Services that change a user evict its entry once their transaction commits; a load that overlaps
+ * an eviction is returned but not cached, so it cannot bring the old state back.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+
+    private final boolean enabled;
+    private final Cache<String, Snapshot> users;
+    // bumped by every eviction; a load only caches its result when no eviction happened meanwhile
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserDetailsCache(UserDetailsCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "userDetails");
+    }
+
+    public Optional<User> get(String email, Function<String, Optional<User>> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        Snapshot cached = users.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached.toUser());
+        }
+        long evictionsBefore = evictions.get();
+        Optional<User> loaded = loader.apply(email);
+        loaded.ifPresent(user -> {
+            Snapshot snapshot = Snapshot.of(user);
+            // evict increments before invalidating, and invalidate waits for this compute on the same key
+            users.asMap().compute(email, (key, current) -> evictions.get() == evictionsBefore ? snapshot : current);
+        });
+        return loaded;
+    }
+
+    public void evict(String email) {
+        TransactionCallbacks.afterCommit(() -> {
+            log.debug("Evicting cached user {}", email);
+            evictions.incrementAndGet();
+            users.invalidate(email);
+        });
+    }
+
+    private record Snapshot(Long id, Long version, Date createdAt, Date updatedAt, String firstName, String lastName,
+                            String email, String password, String biography, Domain domain, Boolean isActive,
+                            Role role, int tokenVersion) {
+
+        static Snapshot of(User user) {
+            return new Snapshot(user.getId(), user.getVersion(), user.getCreatedAt(), user.getUpdatedAt(),
+                    user.getFirstName(), user.getLastName(), user.getEmail(), user.getPassword(), user.getBiography(),
+                    user.getDomain(), user.getIsActive(), user.getRole(), user.getTokenVersion());
+        }
+
+        User toUser() {
+            User user = User.builder()
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .email(email)
+                    .password(password)
+                    .biography(biography)
+                    .domain(domain)
+                    .isActive(isActive)
+                    .role(role)
+                    .tokenVersion(tokenVersion)
+                    .build();
+            user.setId(id);
+            user.setVersion(version);
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(updatedAt);
+            return user;
+        }
+    }
+}
@@ -1,23 +1,41 @@
 package com.blog.service;
 
 import com.blog.exception.UserNotFoundException;
+import com.blog.model.User;
 import com.blog.repository.UserRepository;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+@Slf4j
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmail(username)
+        return userDetailsCache.get(username, userRepository::findByEmail)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + username));
     }
+
+    // reloads the row instead of merging the authenticated copy, which may carry a stale @Version
+    @Transactional
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        log.info("Rehashing password of {} with the configured strength", userDetails.getUsername());
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userDetailsCache.evict(user.getEmail());
+        return user;
+    }
 }
@@ -1,5 +1,6 @@
 package com.blog.service;
 
+import com.blog.config.TokenVersionRegistry;
 import com.blog.dto.UserSaveDTO;
 import com.blog.exception.UserDuplicateEmailException;
 import com.blog.exception.UserPasswordRequiredException;
@@ -11,7 +12,6 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -25,6 +25,9 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public Long save(UserSaveDTO userTO) {
@@ -64,11 +67,15 @@ public class UserServiceImpl implements UserService {
     @Override
     public void delete(Long id) {
         log.info("Attempting to delete user {}", id);
-        if(!userRepository.existsById(id)) {
-            log.warn("User {} not found for deletion", id);
-            throw new UserNotFoundException(id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("User {} not found for deletion", id);
+                    return new UserNotFoundException(id);
+                });
+        userRepository.delete(user);
+        userDetailsCache.evict(user.getEmail());
+        articleSearchIndex.authorChanged(id, null);
+        tokenVersionRegistry.removed(id);
         log.info("User {} deleted successfully", id);
     }
 
@@ -79,6 +86,12 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
 
+        String previousEmail = user.getEmail();
+        boolean credentialsChanged = (userDTO.getEmail() != null && !userDTO.getEmail().equals(user.getEmail()))
+                || (userDTO.getPassword() != null && !userDTO.getPassword().isBlank())
+                || (userDTO.getActive() != null && !userDTO.getActive().equals(user.getIsActive()))
+                || (userDTO.getRole() != null && userDTO.getRole() != user.getRole());
+
         if (userDTO.getEmail() != null && !userDTO.getEmail().equalsIgnoreCase(user.getEmail())
                 && userRepository.existsByEmail(userDTO.getEmail())) {
             log.warn("Duplicate email {} detected during update for user {}", userDTO.getEmail(), id);
@@ -110,7 +123,14 @@ public class UserServiceImpl implements UserService {
             user.setRole(userDTO.getRole());
         }
 
+        if (credentialsChanged) {
+            tokenVersionRegistry.bump(user);
+        }
+        userDetailsCache.evict(previousEmail);
         User savedUser = userRepository.save(user);
+        if (userDTO.getFirstName() != null || userDTO.getLastName() != null) {
+            articleSearchIndex.authorChanged(id, savedUser.getFirstName() + " " + savedUser.getLastName());
+        }
         log.info("User {} updated successfully", id);
         return toDTO(savedUser);
     }
@@ -127,26 +147,13 @@ public class UserServiceImpl implements UserService {
     @Override
     public Page<UserSaveDTO> findAllPaginationWithSearch(String criteria, Pageable pageable) {
         log.info("Fetching paginated users with search criteria={} page={} size={}", criteria, pageable.getPageNumber(), pageable.getPageSize());
-        Page<User> users = userRepository.findAll(pageable);
         if (criteria == null || criteria.isBlank()) {
-            return users.map(this::toDTO);
+            return userRepository.findAll(pageable).map(this::toDTO);
         }
-
-        String filter = criteria.toLowerCase();
-        List<User> filtered = users.stream()
-                .filter(user -> userFilter(user, filter))
-                .toList();
-        List<UserSaveDTO> dtos = filtered.stream().map(this::toDTO).toList();
-        return new PageImpl<>(dtos, pageable, dtos.size());
-    }
-
-    private boolean userFilter(User user, String filter){
-        return (user.getFirstName() != null && user.getFirstName().toLowerCase().contains(filter)
-        || user.getLastName() != null && user.getLastName().toLowerCase().contains(filter)
-        || user.getEmail() != null && user.getEmail().toLowerCase().contains(filter)
-        || user.getBiography() != null && user.getBiography().toLowerCase().contains(filter)
-        || user.getDomain() != null && user.getDomain().name().toLowerCase().contains(filter)
-        );
+        String filter = criteria.strip();
+        return userRepository.search(UserRepository.containsPattern(filter),
+                        UserRepository.domainsContaining(filter), pageable)
+                .map(this::toDTO);
     }
 
     private UserSaveDTO toDTO(User user) {
@@ -0,0 +1,3 @@
+-- Keyset index backing GET /api/v1/articles/feed (ORDER BY created_at DESC, id DESC).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_article_created_at_id
+    ON article (created_at DESC, id DESC);
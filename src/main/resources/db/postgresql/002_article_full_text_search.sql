@@ -0,0 +1,41 @@
+-- Full-text search backing blog.search.engine=fulltext.
+-- search_vector is maintained by triggers: title (A), content (B) and the author's name (C).
+
+ALTER TABLE article ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION article_search_vector_refresh() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+            setweight(to_tsvector('simple', coalesce(NEW.title, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(NEW.content, '')), 'B') ||
+            setweight(to_tsvector('simple', coalesce(
+                    (SELECT u.first_name || ' ' || u.last_name FROM users u WHERE u.id = NEW.author_id), '')), 'C');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS article_search_vector_trg ON article;
+CREATE TRIGGER article_search_vector_trg
+    BEFORE INSERT OR UPDATE OF title, content, author_id ON article
+    FOR EACH ROW EXECUTE FUNCTION article_search_vector_refresh();
+
+-- Renaming an author re-indexes the articles that carry their name.
+CREATE OR REPLACE FUNCTION article_search_vector_author_refresh() RETURNS trigger AS $$
+BEGIN
+    UPDATE article SET author_id = author_id WHERE author_id = NEW.id;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS users_article_search_vector_trg ON users;
+CREATE TRIGGER users_article_search_vector_trg
+    AFTER UPDATE OF first_name, last_name ON users
+    FOR EACH ROW
+    WHEN (OLD.first_name IS DISTINCT FROM NEW.first_name OR OLD.last_name IS DISTINCT FROM NEW.last_name)
+    EXECUTE FUNCTION article_search_vector_author_refresh();
+
+-- Backfill existing rows through the trigger.
+UPDATE article SET author_id = author_id;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_article_search_vector
+    ON article USING GIN (search_vector);
@@ -0,0 +1,18 @@
+-- Trigram indexes backing the case-insensitive LIKE '%criteria%' user/author search.
+-- Each OR branch of UserRepository.SEARCH_CONDITION has its own index so the
+-- planner can combine them with a BitmapOr instead of scanning the table.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_first_name_trgm
+    ON users USING GIN (lower(first_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_last_name_trgm
+    ON users USING GIN (lower(last_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_trgm
+    ON users USING GIN (lower(email) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_biography_trgm
+    ON users USING GIN (lower(biography) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_domain
+    ON users (domain);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role
+    ON users (role);
@@ -0,0 +1,11 @@
+-- Ids move from IDENTITY columns to pooled sequences (allocation size 50) so
+-- Hibernate can assign ids up front and send inserts as JDBC batches.
+-- Existing identity defaults stay in place; Hibernate now always supplies the id.
+-- The pooled optimizer reads each nextval as the top of a 50-id block, so the
+-- sequences start one full increment above the current max id.
+
+CREATE SEQUENCE IF NOT EXISTS article_seq INCREMENT BY 50;
+SELECT setval('article_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM article), false);
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM users), false);
@@ -0,0 +1,3 @@
+-- Version embedded in issued tokens; bumping it rejects every token issued before.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version integer NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Tokens revoked on logout, kept until they would have expired.
+
+CREATE TABLE IF NOT EXISTS revoked_token (
+    jti        varchar(36)  PRIMARY KEY,
+    expires_at timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires_at ON revoked_token (expires_at);
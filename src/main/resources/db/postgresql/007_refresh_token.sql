@@ -0,0 +1,18 @@
+-- Rotating refresh tokens, stored as SHA-256 hashes and grouped by login family.
+
+CREATE SEQUENCE IF NOT EXISTS refresh_token_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS refresh_token (
+    id            bigint       PRIMARY KEY,
+    created_at    timestamp(6) NOT NULL,
+    updated_at    timestamp(6),
+    token_hash    varchar(43)  NOT NULL UNIQUE,
+    family_id     varchar(36)  NOT NULL,
+    user_id       bigint       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    token_version integer      NOT NULL,
+    expires_at    timestamp(6) NOT NULL,
+    used_at       timestamp(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family_id ON refresh_token (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires_at ON refresh_token (expires_at);
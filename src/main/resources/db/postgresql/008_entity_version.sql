@@ -0,0 +1,5 @@
+-- Optimistic-lock version for every entity extending AbstractEntity.
+
+ALTER TABLE article ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE refresh_token ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
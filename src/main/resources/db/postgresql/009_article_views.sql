@@ -0,0 +1,3 @@
+-- Read counter for articles, incremented in batches by ArticleViewCounter.
+
+ALTER TABLE article ADD COLUMN IF NOT EXISTS views bigint NOT NULL DEFAULT 0;
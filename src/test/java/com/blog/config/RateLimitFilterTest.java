@@ -0,0 +1,107 @@
+package com.blog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void admitsABurstOfTheFullLimitThenTheSteadyRate() {
+        AbstractRateLimitFilter.Bucket bucket = new AbstractRateLimitFilter.Bucket();
+        AbstractRateLimitFilter.Bucket.Policy policy = policy(10, Duration.ofSeconds(10));
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryAcquire(policy, now)).as("burst request %d", i).isZero();
+        }
+        assertThat(bucket.remaining(policy, now)).isZero();
+        assertThat(bucket.tryAcquire(policy, now)).isEqualTo(SECOND);
+
+        // one emission interval later exactly one more request fits
+        assertThat(bucket.tryAcquire(policy, now + SECOND)).isZero();
+        assertThat(bucket.tryAcquire(policy, now + SECOND)).isEqualTo(SECOND);
+        assertThat(bucket.tryAcquire(policy, now + SECOND + SECOND / 2)).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    void refillsToTheFullBurstAfterAnIdlePeriod() {
+        AbstractRateLimitFilter.Bucket bucket = new AbstractRateLimitFilter.Bucket();
+        AbstractRateLimitFilter.Bucket.Policy policy = policy(5, Duration.ofSeconds(5));
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(policy, now);
+        }
+        assertThat(bucket.secondsUntilFull(now)).isEqualTo(5);
+
+        long later = now + 60 * SECOND;
+        assertThat(bucket.remaining(policy, later)).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(policy, later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(policy, later)).isPositive();
+    }
+
+    @Test
+    void forgedTokenSubjectsShareTheAddressBucket() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setRequests(1);
+        RateLimitFilter filter = new RateLimitFilter(properties, new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        assertThat(send(filter, "first@blog.com").getStatus()).isEqualTo(200);
+        MockHttpServletResponse second = send(filter, "second@blog.com");
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(second.getHeader("Retry-After")).isEqualTo("60");
+    }
+
+    @Test
+    void rejectsALimitWithoutRequestsAtStartup() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+                .withUserConfiguration(PropertiesConfig.class)
+                .withPropertyValues("blog.rate-limit.routes[0].pattern=/api/v1/articles",
+                        "blog.rate-limit.routes[0].requests=0")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause()
+                        .hasMessageContaining("A rate limit has to allow at least one request per period"));
+    }
+
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfig {
+    }
+
+    private static MockHttpServletResponse send(RateLimitFilter filter, String subject) throws Exception {
+        String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("{\"sub\":\"" + subject + "\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/articles/1");
+        request.setRemoteAddr("203.0.113.7");
+        request.setCookies(new Cookie("ACCESS_TOKEN", "x." + payload + ".x"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static AbstractRateLimitFilter.Bucket.Policy policy(int requests, Duration period) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setRequests(requests);
+        limit.setPeriod(period);
+        return new AbstractRateLimitFilter.Bucket.Policy("test", null, null, limit);
+    }
+}
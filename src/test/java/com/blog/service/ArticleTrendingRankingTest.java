@@ -0,0 +1,110 @@
+package com.blog.service;
+
+import com.blog.config.TrendingProperties;
+import com.blog.converter.ArticleMapper;
+import com.blog.dto.ArticleSaveDTO;
+import com.blog.model.Article;
+import com.blog.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArticleTrendingRankingTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final ArticleMapper articleMapper = mock(ArticleMapper.class);
+    private ArticleTrendingRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        TrendingProperties properties = new TrendingProperties();
+        properties.setSize(3);
+        properties.setHalfLife(Duration.ofHours(1));
+        ranking = new ArticleTrendingRanking(properties, articleRepository, articleMapper, now::get);
+
+        // the repository returns the rows in id order, not in ranking order
+        when(articleRepository.findAllWithAuthorByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().sorted().map(ArticleTrendingRankingTest::article).toList();
+        });
+        when(articleMapper.toDTO(any(Article.class))).thenAnswer(invocation -> {
+            ArticleSaveDTO dto = new ArticleSaveDTO();
+            dto.setTitle("article " + invocation.<Article>getArgument(0).getId());
+            return dto;
+        });
+    }
+
+    @Test
+    void keepsTheMostReadArticlesInOrder() {
+        ranking.record(Map.of(1L, 5L, 2L, 1L, 3L, 3L, 4L, 4L));
+        ranking.refresh();
+
+        assertThat(titles(10)).containsExactly("article 1", "article 4", "article 3");
+        assertThat(titles(2)).containsExactly("article 1", "article 4");
+
+        // a later flush adds to the existing score and can push an article back in
+        ranking.record(Map.of(2L, 10L, 3L, 3L));
+        ranking.refresh();
+
+        assertThat(titles(10)).containsExactly("article 2", "article 3", "article 1");
+    }
+
+    @Test
+    void recentReadsOutweighOlderOnes() {
+        ranking.record(Map.of(1L, 4L));
+        now.addAndGet(Duration.ofHours(1).toMillis());
+        ranking.record(Map.of(2L, 3L));
+        ranking.refresh();
+
+        // 4 reads one half-life ago count as 2 reads now
+        assertThat(titles(10)).containsExactly("article 2", "article 1");
+    }
+
+    @Test
+    void staysOrderedAndBoundedAcrossRescale() {
+        ranking.record(Map.of(4L, 100L, 5L, 50L));
+        // far enough for the weights to need a rescale, which the next refresh performs
+        now.addAndGet(Duration.ofHours(44).toMillis());
+        ranking.record(Map.of(1L, 8L, 2L, 4L, 3L, 2L));
+        ranking.refresh();
+
+        assertThat(titles(10)).containsExactly("article 1", "article 2", "article 3");
+
+        // 44 half-lives later the old reads are forgotten, so 4 starts again from the new reads only
+        ranking.record(Map.of(4L, 5L));
+        ranking.refresh();
+
+        assertThat(titles(10)).containsExactly("article 1", "article 4", "article 2");
+    }
+
+    @Test
+    void dropsArticlesDeletedSinceTheyWereRanked() {
+        ranking.record(Map.of(1L, 3L, 2L, 2L));
+        when(articleRepository.findAllWithAuthorByIdIn(anyCollection())).thenReturn(List.of(article(2L)));
+        ranking.refresh();
+
+        assertThat(titles(10)).containsExactly("article 2");
+    }
+
+    private List<String> titles(int limit) {
+        return ranking.top(limit).stream().map(ArticleSaveDTO::getTitle).toList();
+    }
+
+    private static Article article(Long id) {
+        Article article = new Article();
+        article.setId(id);
+        return article;
+    }
+}
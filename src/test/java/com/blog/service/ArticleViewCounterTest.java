@@ -0,0 +1,126 @@
+package com.blog.service;
+
+import com.blog.config.ArticleViewProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleViewCounterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ArticleTrendingRanking articleTrendingRanking = mock(ArticleTrendingRanking.class);
+    private final ArticleViewCounter counter = new ArticleViewCounter(jdbcTemplate, articleTrendingRanking,
+            new ArticleViewProperties());
+
+    @Test
+    void incrementsRacingFlushesAreWrittenExactlyOnce() throws Exception {
+        int articles = 64;
+        int threads = 8;
+        int incrementsPerThread = 50_000;
+        Map<Long, Long> written = new ConcurrentHashMap<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> deltas = invocation.getArgument(1);
+            deltas.forEach(delta -> written.merge((Long) delta[1], (Long) delta[0], Long::sum));
+            return new int[deltas.size()];
+        });
+
+        AtomicLongArray expected = new AtomicLongArray(articles + 1);
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> readers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads + 1)) {
+            for (int t = 0; t < threads; t++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < incrementsPerThread; i++) {
+                        // skewed ids, so some counters go idle and get retired while others are still read
+                        int id = 1 + (int) Math.min(articles - 1, (long) -Math.log(ThreadLocalRandom.current().nextDouble()) * 8);
+                        counter.increment((long) id);
+                        expected.incrementAndGet(id);
+                    }
+                    return null;
+                }));
+            }
+            Future<?> flusher = executor.submit(() -> {
+                start.await();
+                while (!done.get()) {
+                    counter.flush();
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+            done.set(true);
+            flusher.get();
+        }
+        // the first flush collects the rest, the second retires the now idle counters
+        counter.flush();
+        counter.flush();
+
+        for (long id = 1; id <= articles; id++) {
+            assertThat(written.getOrDefault(id, 0L) + counter.unflushed(id)).as("views of article %d", id)
+                    .isEqualTo(expected.get((int) id));
+            assertThat(counter.unflushed(id)).isZero();
+        }
+    }
+
+    @Test
+    void failedFlushKeepsTheViewsForTheNextOne() {
+        counter.increment(1L);
+        counter.increment(1L);
+        counter.increment(1L);
+        counter.increment(2L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenAnswer(invocation -> new int[((List<?>) invocation.getArgument(1)).size()]);
+
+        counter.flush();
+
+        assertThat(counter.unflushed(1L)).isEqualTo(3);
+        assertThat(counter.unflushed(2L)).isEqualTo(1);
+        verify(articleTrendingRanking, never()).record(anyMap());
+
+        counter.increment(2L);
+        counter.flush();
+
+        assertThat(counter.unflushed(1L)).isZero();
+        assertThat(counter.unflushed(2L)).isZero();
+        verify(articleTrendingRanking).record(Map.of(1L, 3L, 2L, 2L));
+    }
+
+    @Test
+    void disabledCounterCountsNothing() {
+        ArticleViewProperties properties = new ArticleViewProperties();
+        properties.setEnabled(false);
+        ArticleViewCounter disabled = new ArticleViewCounter(jdbcTemplate, articleTrendingRanking, properties);
+
+        disabled.increment(1L);
+        disabled.flush();
+
+        assertThat(disabled.unflushed(1L)).isZero();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}